@@ -0,0 +1,127 @@
+package com.codepoetics.protonpack;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Spliterator;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Compares {@code forEach} and {@code collect} over protonpack's operators using their bulk
+ * {@link Spliterator#forEachRemaining} implementations against the same operators driven one
+ * {@link Spliterator#tryAdvance} at a time.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TraversalBenchmark {
+
+    @Param({ "zip", "takeWhile", "windowed", "groupRuns", "aggregate", "unfold" })
+    public String operator;
+
+    @Param({ "1000000" })
+    public int size;
+
+    private List<Integer> values;
+
+    @Setup
+    public void setUp() {
+        values = IntStream.range(0, size).map(i -> i / 4).boxed().collect(Collectors.toCollection(ArrayList::new));
+    }
+
+    private Stream<?> operator() {
+        switch (operator) {
+            case "zip":
+                return StreamUtils.zip(values.stream(), values.stream(), Integer::sum);
+            case "takeWhile":
+                return StreamUtils.takeWhile(values.stream(), i -> true);
+            case "windowed":
+                return StreamUtils.windowed(values.stream(), 4, 4);
+            case "groupRuns":
+                return StreamUtils.groupRuns(values.stream());
+            case "aggregate":
+                return StreamUtils.aggregate(values.stream(), (a, b) -> a.equals(b));
+            case "unfold":
+                return StreamUtils.unfold(0, i -> i < size ? Optional.of(i + 1) : Optional.empty());
+            default:
+                throw new IllegalArgumentException(operator);
+        }
+    }
+
+    private Stream<?> tryAdvanceOnly() {
+        return StreamSupport.stream(new TryAdvanceOnly<>(operator().spliterator()), false);
+    }
+
+    @Benchmark
+    public void bulkForEach(Blackhole blackhole) {
+        operator().forEach(blackhole::consume);
+    }
+
+    @Benchmark
+    public void tryAdvanceForEach(Blackhole blackhole) {
+        tryAdvanceOnly().forEach(blackhole::consume);
+    }
+
+    @Benchmark
+    public List<?> bulkCollect() {
+        return operator().collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public List<?> tryAdvanceCollect() {
+        return tryAdvanceOnly().collect(Collectors.toList());
+    }
+
+    /**
+     * Hides a spliterator's own forEachRemaining, so traversal falls back to the default tryAdvance loop.
+     */
+    private static final class TryAdvanceOnly<T> implements Spliterator<T> {
+
+        private final Spliterator<T> source;
+
+        private TryAdvanceOnly(Spliterator<T> source) {
+            this.source = source;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super T> action) {
+            return source.tryAdvance(action);
+        }
+
+        @Override
+        public Spliterator<T> trySplit() {
+            return null;
+        }
+
+        @Override
+        public long estimateSize() {
+            return source.estimateSize();
+        }
+
+        @Override
+        public int characteristics() {
+            return source.characteristics();
+        }
+    }
+}
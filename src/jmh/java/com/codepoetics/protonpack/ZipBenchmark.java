@@ -0,0 +1,62 @@
+package com.codepoetics.protonpack;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares zipping two double arrays through the boxed {@link StreamUtils#zip} path against
+ * {@link StreamUtils#zipDoubles}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ZipBenchmark {
+
+    @Param({ "1000000" })
+    public int size;
+
+    private double[] prices;
+    private double[] quantities;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        prices = random.doubles(size).toArray();
+        quantities = random.doubles(size).toArray();
+    }
+
+    @Benchmark
+    public double boxedZip() {
+        return StreamUtils.zip(
+                Arrays.stream(prices).boxed(),
+                Arrays.stream(quantities).boxed(),
+                (price, quantity) -> price * quantity)
+                .mapToDouble(Double::doubleValue)
+                .sum();
+    }
+
+    @Benchmark
+    public double primitiveZip() {
+        return StreamUtils.zipDoubles(
+                Arrays.stream(prices),
+                Arrays.stream(quantities),
+                (price, quantity) -> price * quantity)
+                .sum();
+    }
+}
@@ -45,6 +45,22 @@ class AggregatingSpliterator<I> implements Spliterator<List<I>> {
         return hadElements;
     }
 
+    @Override
+    public void forEachRemaining(Consumer<? super List<I>> action) {
+        source.forEachRemaining(curElem -> {
+            if (!isSameSlide(curElem)) {
+                action.accept(currentSlide);
+                currentSlide = new ArrayList<>();
+            }
+            currentSlide.add(curElem);
+        });
+
+        if (!currentSlide.isEmpty()) {
+            action.accept(currentSlide);
+            currentSlide = new ArrayList<>();
+        }
+    }
+
     private boolean isSameSlide(I curEl) {
         return currentSlide.isEmpty() || condition.test(currentSlide, curEl);
     }
@@ -0,0 +1,64 @@
+package com.codepoetics.protonpack;
+
+import java.util.Arrays;
+import java.util.Spliterator;
+import java.util.function.BinaryOperator;
+
+final class AlignedSplits {
+
+    private AlignedSplits() {
+    }
+
+    /**
+     * Split every source at the same index, rejoining them with a {@link ConcatSpliterator} if that fails.
+     * @param sources The sources to split. Updated in place if a split has to be undone.
+     * @return The prefixes, one per source, or null if the sources could not be split at the same index.
+     */
+    @SuppressWarnings("unchecked")
+    static Spliterator<?>[] trySplit(Spliterator<?>[] sources) {
+        return trySplit(sources, (prefix, rest) ->
+                ConcatSpliterator.concat((Spliterator<Object>) prefix, (Spliterator<Object>) rest));
+    }
+
+    /**
+     * Split every source at the same index, so that the prefixes and the remaining sources can be zipped independently.
+     *
+     * Splitting is only attempted if every source is SUBSIZED. If any source declines to split, or splits at a
+     * different index to the others, the sources which have already been split are glued back together in place
+     * using the supplied concatenation, and null is returned.
+     *
+     * @param sources The sources to split. Updated in place if a split has to be undone.
+     * @param concatenation Joins a prefix back on to the front of the source it was split from.
+     * @param <S> The type of the spliterators.
+     * @return The prefixes, one per source, or null if the sources could not be split at the same index.
+     */
+    @SuppressWarnings("unchecked")
+    static <S extends Spliterator<?>> S[] trySplit(S[] sources, BinaryOperator<S> concatenation) {
+        if (sources.length == 0) {
+            return null;
+        }
+        for (S source : sources) {
+            if (!source.hasCharacteristics(Spliterator.SUBSIZED)) {
+                return null;
+            }
+        }
+
+        S[] prefixes = Arrays.copyOf(sources, sources.length);
+        long prefixSize = -1;
+        for (int i = 0; i < sources.length; i++) {
+            S prefix = (S) sources[i].trySplit();
+            if (prefix == null || (i > 0 && prefix.getExactSizeIfKnown() != prefixSize)) {
+                for (int j = 0; j < i; j++) {
+                    sources[j] = concatenation.apply(prefixes[j], sources[j]);
+                }
+                if (prefix != null) {
+                    sources[i] = concatenation.apply(prefix, sources[i]);
+                }
+                return null;
+            }
+            prefixSize = prefix.getExactSizeIfKnown();
+            prefixes[i] = prefix;
+        }
+        return prefixes;
+    }
+}
@@ -0,0 +1,115 @@
+package com.codepoetics.protonpack;
+
+import com.codepoetics.protonpack.comparators.Comparators;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+class BatchingSpliterator<T> implements Spliterator<List<T>> {
+
+    static <T> Spliterator<List<T>> batching(Spliterator<T> source, int batchSize) {
+        return new BatchingSpliterator<>(source, batchSize);
+    }
+
+    private Spliterator<T> source;
+    private final int batchSize;
+    private List<T> batch;
+    private long remaining;
+    private final Consumer<T> add = item -> batch.add(item);
+
+    private BatchingSpliterator(Spliterator<T> source, int batchSize) {
+        this.source = source;
+        this.batchSize = batchSize;
+    }
+
+    // Batches are allocated at their exact size where the source's size is known; otherwise the source's estimate
+    // keeps a very large batch size from allocating more than the source is expected to hold.
+    private List<T> newBatch(long remaining) {
+        return new ArrayList<>((int) Math.min(batchSize, Math.max(remaining, 0)));
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super List<T>> action) {
+        batch = newBatch(source.estimateSize());
+        while (batch.size() < batchSize && source.tryAdvance(add));
+
+        List<T> result = batch;
+        batch = null;
+        if (result.isEmpty()) {
+            return false;
+        }
+        action.accept(result);
+        return true;
+    }
+
+    @Override
+    public void forEachRemaining(Consumer<? super List<T>> action) {
+        remaining = source.estimateSize();
+        batch = newBatch(remaining);
+        source.forEachRemaining(item -> {
+            batch.add(item);
+            if (batch.size() == batchSize) {
+                action.accept(batch);
+                remaining -= batchSize;
+                batch = newBatch(remaining);
+            }
+        });
+
+        List<T> last = batch;
+        batch = null;
+        if (!last.isEmpty()) {
+            action.accept(last);
+        }
+    }
+
+    /**
+     * Splits a SUBSIZED source on a batch boundary. If the source's own split falls inside a batch, the prefix is
+     * handed the elements following the split point which complete its last batch.
+     */
+    @Override
+    public Spliterator<List<T>> trySplit() {
+        if (!source.hasCharacteristics(Spliterator.SUBSIZED)) {
+            return null;
+        }
+        Spliterator<T> prefix = source.trySplit();
+        if (prefix == null) {
+            return null;
+        }
+
+        long shortfall = (batchSize - prefix.getExactSizeIfKnown() % batchSize) % batchSize;
+        if (shortfall >= source.getExactSizeIfKnown()) {
+            source = ConcatSpliterator.concat(prefix, source);
+            return null;
+        }
+
+        Object[] completion = new Object[(int) shortfall];
+        for (int i = 0; i < completion.length; i++) {
+            int index = i;
+            source.tryAdvance(item -> completion[index] = item);
+        }
+        return new BatchingSpliterator<>(SplicedSpliterator.after(prefix, completion), batchSize);
+    }
+
+    @Override
+    public long estimateSize() {
+        long sourceSize = source.estimateSize();
+        if (sourceSize == Long.MAX_VALUE) {
+            return sourceSize;
+        }
+        return sourceSize / batchSize + (sourceSize % batchSize == 0 ? 0 : 1);
+    }
+
+    @Override
+    public int characteristics() {
+        return (source.characteristics() | Spliterator.NONNULL) & ~Spliterator.CONCURRENT;
+    }
+
+    @Override
+    public Comparator<? super List<T>> getComparator() {
+        Comparator<? super T> comparator = source.getComparator();
+        return comparator == null ? null : Comparators.toListComparator(comparator);
+    }
+}
@@ -0,0 +1,118 @@
+package com.codepoetics.protonpack;
+
+import java.util.Spliterator;
+import java.util.function.BiConsumer;
+import java.util.function.BiPredicate;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collector;
+
+class CollectingRunSpliterator<T, A, R> implements Spliterator<R> {
+
+    static <T, A, R> Spliterator<R> collectingRuns(Spliterator<T> source, BiPredicate<? super T, ? super T> sameRun,
+                                                   Collector<? super T, A, R> collector) {
+        return new CollectingRunSpliterator<>(source, sameRun, collector);
+    }
+
+    private final Spliterator<T> source;
+    private final BiPredicate<? super T, ? super T> sameRun;
+    private final Supplier<A> supplier;
+    private final BiConsumer<A, ? super T> accumulator;
+    private final Function<A, R> finisher;
+
+    private T last;
+    private A run;
+    private R completed;
+    private boolean hasCompleted = false;
+    private final Consumer<T> sink = this::accept;
+
+    private CollectingRunSpliterator(Spliterator<T> source, BiPredicate<? super T, ? super T> sameRun,
+                                     Collector<? super T, A, R> collector) {
+        this.source = source;
+        this.sameRun = sameRun;
+        this.supplier = collector.supplier();
+        this.accumulator = collector.accumulator();
+        this.finisher = collector.finisher();
+    }
+
+    private void accept(T item) {
+        if (run != null && !sameRun.test(last, item)) {
+            completed = finisher.apply(run);
+            hasCompleted = true;
+            run = null;
+        }
+        if (run == null) {
+            run = supplier.get();
+        }
+        accumulator.accept(run, item);
+        last = item;
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super R> action) {
+        while (!hasCompleted && source.tryAdvance(sink));
+
+        if (hasCompleted) {
+            R result = completed;
+            completed = null;
+            hasCompleted = false;
+            action.accept(result);
+            return true;
+        }
+
+        if (run != null) {
+            A finalRun = run;
+            run = null;
+            last = null;
+            action.accept(finisher.apply(finalRun));
+            return true;
+        }
+        return false;
+    }
+
+    @Override
+    public void forEachRemaining(Consumer<? super R> action) {
+        if (hasCompleted) {
+            R result = completed;
+            completed = null;
+            hasCompleted = false;
+            action.accept(result);
+        }
+
+        source.forEachRemaining(item -> {
+            if (run != null && !sameRun.test(last, item)) {
+                action.accept(finisher.apply(run));
+                run = null;
+            }
+            if (run == null) {
+                run = supplier.get();
+            }
+            accumulator.accept(run, item);
+            last = item;
+        });
+
+        if (run != null) {
+            A finalRun = run;
+            run = null;
+            last = null;
+            action.accept(finisher.apply(finalRun));
+        }
+    }
+
+    @Override
+    public Spliterator<R> trySplit() {
+        return null;
+    }
+
+    @Override
+    public long estimateSize() {
+        return source.estimateSize();
+    }
+
+    @Override
+    public int characteristics() {
+        return source.characteristics()
+                & ~(Spliterator.SIZED | Spliterator.SUBSIZED | Spliterator.SORTED | Spliterator.DISTINCT | Spliterator.NONNULL);
+    }
+}
@@ -0,0 +1,131 @@
+package com.codepoetics.protonpack;
+
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.function.DoubleConsumer;
+import java.util.function.IntConsumer;
+import java.util.function.LongConsumer;
+
+abstract class ConcatSpliterator<T, S extends Spliterator<T>> implements Spliterator<T> {
+
+    static <T> Spliterator<T> concat(Spliterator<T> first, Spliterator<T> second) {
+        return new OfRef<>(first, second);
+    }
+
+    static Spliterator.OfInt concat(Spliterator.OfInt first, Spliterator.OfInt second) {
+        return new OfInt(first, second);
+    }
+
+    static Spliterator.OfLong concat(Spliterator.OfLong first, Spliterator.OfLong second) {
+        return new OfLong(first, second);
+    }
+
+    static Spliterator.OfDouble concat(Spliterator.OfDouble first, Spliterator.OfDouble second) {
+        return new OfDouble(first, second);
+    }
+
+    protected final S first;
+    protected final S second;
+    protected boolean firstExhausted = false;
+
+    private ConcatSpliterator(S first, S second) {
+        this.first = first;
+        this.second = second;
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super T> action) {
+        if (!firstExhausted) {
+            if (first.tryAdvance(action)) {
+                return true;
+            }
+            firstExhausted = true;
+        }
+        return second.tryAdvance(action);
+    }
+
+    @Override
+    public void forEachRemaining(Consumer<? super T> action) {
+        if (!firstExhausted) {
+            first.forEachRemaining(action);
+            firstExhausted = true;
+        }
+        second.forEachRemaining(action);
+    }
+
+    @Override
+    public S trySplit() {
+        return null;
+    }
+
+    @Override
+    public long estimateSize() {
+        if (firstExhausted) {
+            return second.estimateSize();
+        }
+        long size = first.estimateSize() + second.estimateSize();
+        return size < 0 ? Long.MAX_VALUE : size;
+    }
+
+    @Override
+    public int characteristics() {
+        return first.characteristics() & second.characteristics()
+                & ~(Spliterator.SUBSIZED | Spliterator.DISTINCT | Spliterator.SORTED);
+    }
+
+    private static final class OfRef<T> extends ConcatSpliterator<T, Spliterator<T>> {
+        private OfRef(Spliterator<T> first, Spliterator<T> second) {
+            super(first, second);
+        }
+    }
+
+    private static abstract class OfPrimitive<T, C, S extends Spliterator.OfPrimitive<T, C, S>>
+            extends ConcatSpliterator<T, S>
+            implements Spliterator.OfPrimitive<T, C, S> {
+
+        private OfPrimitive(S first, S second) {
+            super(first, second);
+        }
+
+        @Override
+        public boolean tryAdvance(C action) {
+            if (!firstExhausted) {
+                if (first.tryAdvance(action)) {
+                    return true;
+                }
+                firstExhausted = true;
+            }
+            return second.tryAdvance(action);
+        }
+
+        @Override
+        public void forEachRemaining(C action) {
+            if (!firstExhausted) {
+                first.forEachRemaining(action);
+                firstExhausted = true;
+            }
+            second.forEachRemaining(action);
+        }
+    }
+
+    private static final class OfInt extends OfPrimitive<Integer, IntConsumer, Spliterator.OfInt>
+            implements Spliterator.OfInt {
+        private OfInt(Spliterator.OfInt first, Spliterator.OfInt second) {
+            super(first, second);
+        }
+    }
+
+    private static final class OfLong extends OfPrimitive<Long, LongConsumer, Spliterator.OfLong>
+            implements Spliterator.OfLong {
+        private OfLong(Spliterator.OfLong first, Spliterator.OfLong second) {
+            super(first, second);
+        }
+    }
+
+    private static final class OfDouble extends OfPrimitive<Double, DoubleConsumer, Spliterator.OfDouble>
+            implements Spliterator.OfDouble {
+        private OfDouble(Spliterator.OfDouble first, Spliterator.OfDouble second) {
+            super(first, second);
+        }
+    }
+}
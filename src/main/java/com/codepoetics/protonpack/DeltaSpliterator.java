@@ -0,0 +1,136 @@
+package com.codepoetics.protonpack;
+
+import java.util.Spliterator;
+import java.util.function.IntConsumer;
+import java.util.function.LongConsumer;
+
+/**
+ * Encodes a stream of primitives as the difference between each value and the one before it (the first value being
+ * taken as its difference from zero), or decodes such a stream by keeping a running total. Arithmetic wraps on
+ * overflow, so decoding always restores the encoded values.
+ */
+final class DeltaSpliterator {
+
+    private static final int CLEARED = Spliterator.SORTED | Spliterator.DISTINCT;
+
+    private DeltaSpliterator() {
+    }
+
+    static Spliterator.OfInt encoding(Spliterator.OfInt source) {
+        return new DeltaInts(source, false);
+    }
+
+    static Spliterator.OfInt decoding(Spliterator.OfInt source) {
+        return new DeltaInts(source, true);
+    }
+
+    static Spliterator.OfLong encoding(Spliterator.OfLong source) {
+        return new DeltaLongs(source, false);
+    }
+
+    static Spliterator.OfLong decoding(Spliterator.OfLong source) {
+        return new DeltaLongs(source, true);
+    }
+
+    private static final class DeltaInts implements Spliterator.OfInt {
+
+        private final Spliterator.OfInt source;
+        private final boolean decode;
+        private int previous = 0;
+        private IntConsumer action;
+        private final IntConsumer sink = this::accept;
+
+        private DeltaInts(Spliterator.OfInt source, boolean decode) {
+            this.source = source;
+            this.decode = decode;
+        }
+
+        private void accept(int value) {
+            if (decode) {
+                previous += value;
+                action.accept(previous);
+            } else {
+                action.accept(value - previous);
+                previous = value;
+            }
+        }
+
+        @Override
+        public boolean tryAdvance(IntConsumer action) {
+            this.action = action;
+            return source.tryAdvance(sink);
+        }
+
+        @Override
+        public void forEachRemaining(IntConsumer action) {
+            this.action = action;
+            source.forEachRemaining(sink);
+        }
+
+        @Override
+        public Spliterator.OfInt trySplit() {
+            return null;
+        }
+
+        @Override
+        public long estimateSize() {
+            return source.estimateSize();
+        }
+
+        @Override
+        public int characteristics() {
+            return source.characteristics() & ~CLEARED;
+        }
+    }
+
+    private static final class DeltaLongs implements Spliterator.OfLong {
+
+        private final Spliterator.OfLong source;
+        private final boolean decode;
+        private long previous = 0;
+        private LongConsumer action;
+        private final LongConsumer sink = this::accept;
+
+        private DeltaLongs(Spliterator.OfLong source, boolean decode) {
+            this.source = source;
+            this.decode = decode;
+        }
+
+        private void accept(long value) {
+            if (decode) {
+                previous += value;
+                action.accept(previous);
+            } else {
+                action.accept(value - previous);
+                previous = value;
+            }
+        }
+
+        @Override
+        public boolean tryAdvance(LongConsumer action) {
+            this.action = action;
+            return source.tryAdvance(sink);
+        }
+
+        @Override
+        public void forEachRemaining(LongConsumer action) {
+            this.action = action;
+            source.forEachRemaining(sink);
+        }
+
+        @Override
+        public Spliterator.OfLong trySplit() {
+            return null;
+        }
+
+        @Override
+        public long estimateSize() {
+            return source.estimateSize();
+        }
+
+        @Override
+        public int characteristics() {
+            return source.characteristics() & ~CLEARED;
+        }
+    }
+}
@@ -0,0 +1,168 @@
+package com.codepoetics.protonpack;
+
+import com.codepoetics.protonpack.functions.IndexedDoubleFunction;
+import com.codepoetics.protonpack.functions.IndexedFunction;
+import com.codepoetics.protonpack.functions.IndexedIntFunction;
+import com.codepoetics.protonpack.functions.IndexedLongFunction;
+
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.function.DoubleConsumer;
+import java.util.function.IntConsumer;
+import java.util.function.LongConsumer;
+
+abstract class IndexingSpliterator<S extends Spliterator<?>, R> implements Spliterator<R> {
+
+    static <T, R> Spliterator<R> indexing(Spliterator<T> source, IndexedFunction<? super T, ? extends R> mapper) {
+        return new OfRef<>(source, 0L, mapper);
+    }
+
+    static <R> Spliterator<R> indexing(Spliterator.OfInt source, IndexedIntFunction<? extends R> mapper) {
+        return new OfInt<>(source, 0L, mapper);
+    }
+
+    static <R> Spliterator<R> indexing(Spliterator.OfLong source, IndexedLongFunction<? extends R> mapper) {
+        return new OfLong<>(source, 0L, mapper);
+    }
+
+    static <R> Spliterator<R> indexing(Spliterator.OfDouble source, IndexedDoubleFunction<? extends R> mapper) {
+        return new OfDouble<>(source, 0L, mapper);
+    }
+
+    protected final S source;
+    protected long index;
+
+    private IndexingSpliterator(S source, long index) {
+        this.source = source;
+        this.index = index;
+    }
+
+    abstract Spliterator<R> startingAt(S prefix, long prefixIndex);
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public Spliterator<R> trySplit() {
+        if (!source.hasCharacteristics(Spliterator.SUBSIZED)) {
+            return null;
+        }
+
+        S prefix = (S) source.trySplit();
+        if (prefix == null) {
+            return null;
+        }
+
+        Spliterator<R> indexedPrefix = startingAt(prefix, index);
+        index += prefix.getExactSizeIfKnown();
+        return indexedPrefix;
+    }
+
+    @Override
+    public long estimateSize() {
+        return source.estimateSize();
+    }
+
+    @Override
+    public int characteristics() {
+        return source.characteristics() & ~(Spliterator.SORTED | Spliterator.DISTINCT | Spliterator.NONNULL);
+    }
+
+    private static final class OfRef<T, R> extends IndexingSpliterator<Spliterator<T>, R> {
+
+        private final IndexedFunction<? super T, ? extends R> mapper;
+
+        private OfRef(Spliterator<T> source, long index, IndexedFunction<? super T, ? extends R> mapper) {
+            super(source, index);
+            this.mapper = mapper;
+        }
+
+        @Override
+        Spliterator<R> startingAt(Spliterator<T> prefix, long prefixIndex) {
+            return new OfRef<>(prefix, prefixIndex, mapper);
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super R> action) {
+            return source.tryAdvance(value -> action.accept(mapper.apply(index++, value)));
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super R> action) {
+            source.forEachRemaining(value -> action.accept(mapper.apply(index++, value)));
+        }
+    }
+
+    private static final class OfInt<R> extends IndexingSpliterator<Spliterator.OfInt, R> {
+
+        private final IndexedIntFunction<? extends R> mapper;
+
+        private OfInt(Spliterator.OfInt source, long index, IndexedIntFunction<? extends R> mapper) {
+            super(source, index);
+            this.mapper = mapper;
+        }
+
+        @Override
+        Spliterator<R> startingAt(Spliterator.OfInt prefix, long prefixIndex) {
+            return new OfInt<>(prefix, prefixIndex, mapper);
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super R> action) {
+            return source.tryAdvance((IntConsumer) value -> action.accept(mapper.apply(index++, value)));
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super R> action) {
+            source.forEachRemaining((IntConsumer) value -> action.accept(mapper.apply(index++, value)));
+        }
+    }
+
+    private static final class OfLong<R> extends IndexingSpliterator<Spliterator.OfLong, R> {
+
+        private final IndexedLongFunction<? extends R> mapper;
+
+        private OfLong(Spliterator.OfLong source, long index, IndexedLongFunction<? extends R> mapper) {
+            super(source, index);
+            this.mapper = mapper;
+        }
+
+        @Override
+        Spliterator<R> startingAt(Spliterator.OfLong prefix, long prefixIndex) {
+            return new OfLong<>(prefix, prefixIndex, mapper);
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super R> action) {
+            return source.tryAdvance((LongConsumer) value -> action.accept(mapper.apply(index++, value)));
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super R> action) {
+            source.forEachRemaining((LongConsumer) value -> action.accept(mapper.apply(index++, value)));
+        }
+    }
+
+    private static final class OfDouble<R> extends IndexingSpliterator<Spliterator.OfDouble, R> {
+
+        private final IndexedDoubleFunction<? extends R> mapper;
+
+        private OfDouble(Spliterator.OfDouble source, long index, IndexedDoubleFunction<? extends R> mapper) {
+            super(source, index);
+            this.mapper = mapper;
+        }
+
+        @Override
+        Spliterator<R> startingAt(Spliterator.OfDouble prefix, long prefixIndex) {
+            return new OfDouble<>(prefix, prefixIndex, mapper);
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super R> action) {
+            return source.tryAdvance((DoubleConsumer) value -> action.accept(mapper.apply(index++, value)));
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super R> action) {
+            source.forEachRemaining((DoubleConsumer) value -> action.accept(mapper.apply(index++, value)));
+        }
+    }
+}
@@ -3,7 +3,6 @@ package com.codepoetics.protonpack;
 import java.util.Spliterator;
 import java.util.function.Consumer;
 import java.util.function.Function;
-import java.util.function.Predicate;
 import java.util.function.Supplier;
 import java.util.stream.Stream;
 
@@ -41,7 +40,7 @@ class InterleavingSpliterator<T> implements Spliterator<T> {
             buffer = bufferSupplier.get();
         }
 
-        if (Stream.of(buffer).allMatch(Predicate.isEqual(null))) {
+        if (isExhausted()) {
             return false;
         }
 
@@ -55,6 +54,38 @@ class InterleavingSpliterator<T> implements Spliterator<T> {
         return true;
     }
 
+    @SuppressWarnings("unchecked")
+    @Override
+    public void forEachRemaining(Consumer<? super T> action) {
+        if (buffer == null) {
+            buffer = bufferSupplier.get();
+        }
+
+        Consumer<T>[] refills = (Consumer<T>[]) new Consumer<?>[spliterators.length];
+        for (int i = 0; i < spliterators.length; i++) {
+            final int stableIndex = i;
+            refills[i] = t -> buffer[stableIndex] = t;
+        }
+
+        while (!isExhausted()) {
+            int selected = selector.apply(buffer);
+            action.accept(buffer[selected]);
+
+            if (!spliterators[selected].tryAdvance(refills[selected])) {
+                buffer[selected] = null;
+            }
+        }
+    }
+
+    private boolean isExhausted() {
+        for (T value : buffer) {
+            if (value != null) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     @Override
     public Spliterator<T> trySplit() {
         return null;
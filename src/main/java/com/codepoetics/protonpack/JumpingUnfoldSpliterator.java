@@ -0,0 +1,90 @@
+package com.codepoetics.protonpack;
+
+import java.util.Spliterator;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.UnaryOperator;
+
+class JumpingUnfoldSpliterator<T> implements Spliterator<T> {
+
+    static <T> Spliterator<T> over(T seed, UnaryOperator<T> step, BiFunction<T, Long, T> jump) {
+        return new JumpingUnfoldSpliterator<>(seed, 0L, 0L, Long.MAX_VALUE, step, jump);
+    }
+
+    // The state at origin is jump(base, pending); the jump is deferred until this part is traversed, so that
+    // repeated splitting costs nothing.
+    private T base;
+    private long pending;
+    private long origin;
+    private final long fence;
+    private final UnaryOperator<T> step;
+    private final BiFunction<T, Long, T> jump;
+
+    private JumpingUnfoldSpliterator(T base, long pending, long origin, long fence, UnaryOperator<T> step, BiFunction<T, Long, T> jump) {
+        this.base = base;
+        this.pending = pending;
+        this.origin = origin;
+        this.fence = fence;
+        this.step = step;
+        this.jump = jump;
+    }
+
+    private T current() {
+        if (pending != 0) {
+            base = jump.apply(base, pending);
+            pending = 0;
+        }
+        return base;
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super T> action) {
+        if (origin >= fence) {
+            return false;
+        }
+        T value = current();
+        action.accept(value);
+        if (++origin < fence) {
+            base = step.apply(value);
+        }
+        return true;
+    }
+
+    @Override
+    public void forEachRemaining(Consumer<? super T> action) {
+        if (origin >= fence) {
+            return;
+        }
+        T value = current();
+        while (true) {
+            action.accept(value);
+            if (++origin >= fence) {
+                break;
+            }
+            value = step.apply(value);
+        }
+        base = value;
+    }
+
+    @Override
+    public Spliterator<T> trySplit() {
+        long mid = origin + (fence - origin) / 2;
+        if (mid <= origin) {
+            return null;
+        }
+        Spliterator<T> prefix = new JumpingUnfoldSpliterator<>(base, pending, origin, mid, step, jump);
+        pending += mid - origin;
+        origin = mid;
+        return prefix;
+    }
+
+    @Override
+    public long estimateSize() {
+        return fence - origin;
+    }
+
+    @Override
+    public int characteristics() {
+        return Spliterator.IMMUTABLE | Spliterator.ORDERED | Spliterator.SIZED | Spliterator.SUBSIZED;
+    }
+}
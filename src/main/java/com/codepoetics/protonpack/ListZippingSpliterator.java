@@ -1,61 +1,159 @@
 package com.codepoetics.protonpack;
 
+import java.util.AbstractList;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.RandomAccess;
 import java.util.Spliterator;
 import java.util.function.Consumer;
 import java.util.function.Function;
 
-import static java.util.function.Predicate.isEqual;
-
 class ListZippingSpliterator<T, O> implements Spliterator<O> {
 
     static <T, O> Spliterator<O> zipping(List<Spliterator<T>> spliterators, Function<List<T>, O> combiner) {
-        return new ListZippingSpliterator<>(spliterators, combiner);
+        return new ListZippingSpliterator<>(spliterators.toArray(new Spliterator<?>[0]), combiner, false);
+    }
+
+    static <T, O> Spliterator<O> zippingWithRowView(List<Spliterator<T>> spliterators, Function<List<T>, O> combiner) {
+        return new ListZippingSpliterator<>(spliterators.toArray(new Spliterator<?>[0]), combiner, true);
     }
 
-    private final List<Spliterator<T>> spliterators;
+    private final Spliterator<?>[] spliterators;
     private final Function<List<T>, O> combiner;
+    private final boolean reuseRow;
+    private final Consumer<Object>[] sinks;
+    private final Object[] row;
+    private final List<T> rowView;
+    private int characteristics;
+    private long exactSize;
 
-    private ListZippingSpliterator(List<Spliterator<T>> spliterators, Function<List<T>, O> combiner) {
+    @SuppressWarnings("unchecked")
+    private ListZippingSpliterator(Spliterator<?>[] spliterators, Function<List<T>, O> combiner, boolean reuseRow) {
         this.spliterators = spliterators;
         this.combiner = combiner;
+        this.reuseRow = reuseRow;
+        this.row = new Object[spliterators.length];
+        this.rowView = new RowView<>(row);
+        this.sinks = (Consumer<Object>[]) new Consumer<?>[spliterators.length];
+        for (int i = 0; i < spliterators.length; i++) {
+            final int column = i;
+            sinks[i] = value -> row[column] = value;
+        }
+        updateSizeAndCharacteristics();
+    }
+
+    private void updateSizeAndCharacteristics() {
+        int combined = spliterators.length == 0 ? 0 : ~0;
+        long min = spliterators.length == 0 ? 0 : Long.MAX_VALUE;
+        for (Spliterator<?> spliterator : spliterators) {
+            combined &= spliterator.characteristics();
+            min = Math.min(min, spliterator.estimateSize());
+        }
+        characteristics = combined & ~(Spliterator.DISTINCT | Spliterator.SORTED);
+        exactSize = (combined & Spliterator.SIZED) != 0 ? min : -1;
     }
 
+    @SuppressWarnings("unchecked")
     @Override
     public boolean tryAdvance(Consumer<? super O> action) {
-        if (spliterators.isEmpty()) {
+        if (spliterators.length == 0) {
             return false;
         }
-        List<T> acc = new ArrayList<>(spliterators.size());
-        boolean hadNext = spliterators.stream()
-                .map(s -> s.tryAdvance(acc::add))
-                .allMatch(isEqual(Boolean.TRUE));
-        if (hadNext) {
-            action.accept(combiner.apply(acc));
+        for (int i = 0; i < spliterators.length; i++) {
+            if (!((Spliterator<Object>) spliterators[i]).tryAdvance(sinks[i])) {
+                exactSize = exactSize < 0 ? -1 : 0;
+                return false;
+            }
+        }
+        if (exactSize > 0) {
+            exactSize--;
+        }
+        action.accept(combineRow());
+        return true;
+    }
+
+    // Unless the row view was asked for, each row is handed over as a list of its own, which the combiner may keep.
+    private O combineRow() {
+        return combiner.apply(reuseRow ? rowView : new ArrayList<>(rowView));
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public void forEachRemaining(Consumer<? super O> action) {
+        int shortest = -1;
+        long shortestSize = Long.MAX_VALUE;
+        for (int i = 0; i < spliterators.length; i++) {
+            long size = spliterators[i].getExactSizeIfKnown();
+            if (size < 0) {
+                shortest = -1;
+                break;
+            }
+            if (size < shortestSize || shortest < 0) {
+                shortest = i;
+                shortestSize = size;
+            }
+        }
+
+        if (shortest < 0) {
+            while (tryAdvance(action));
+            return;
         }
-        return hadNext;
+
+        // Every size is known, so the shortest source can be driven in bulk without overrunning the others.
+        int driver = shortest;
+        ((Spliterator<Object>) spliterators[driver]).forEachRemaining(value -> {
+            row[driver] = value;
+            for (int i = 0; i < spliterators.length; i++) {
+                if (i != driver && !((Spliterator<Object>) spliterators[i]).tryAdvance(sinks[i])) {
+                    return;
+                }
+            }
+            action.accept(combineRow());
+        });
+        exactSize = exactSize < 0 ? -1 : 0;
     }
 
     @Override
     public Spliterator<O> trySplit() {
-        return null;
+        Spliterator<?>[] prefixes = AlignedSplits.trySplit(spliterators);
+        updateSizeAndCharacteristics();
+        return prefixes == null ? null : new ListZippingSpliterator<>(prefixes, combiner, reuseRow);
     }
 
     @Override
     public long estimateSize() {
-        // TODO: benchmark and cache?
-        return spliterators.stream()
-                .mapToLong(Spliterator::estimateSize)
-                .min().orElse(0);
+        if (exactSize >= 0) {
+            return exactSize;
+        }
+        long min = spliterators.length == 0 ? 0 : Long.MAX_VALUE;
+        for (Spliterator<?> spliterator : spliterators) {
+            min = Math.min(min, spliterator.estimateSize());
+        }
+        return min;
     }
 
     @Override
     public int characteristics() {
-        // TODO: benchmark and cache?
-        int characteristics = spliterators.stream()
-                .mapToInt(Spliterator::characteristics)
-                .reduce(0, (i, j) -> i & j);
-        return characteristics & ~(Spliterator.DISTINCT | Spliterator.SORTED);
+        return characteristics;
+    }
+
+    private static final class RowView<T> extends AbstractList<T> implements RandomAccess {
+
+        private final Object[] row;
+
+        private RowView(Object[] row) {
+            this.row = row;
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public T get(int index) {
+            return (T) row[index];
+        }
+
+        @Override
+        public int size() {
+            return row.length;
+        }
     }
 }
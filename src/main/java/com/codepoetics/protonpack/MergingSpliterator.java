@@ -40,6 +40,29 @@ class MergingSpliterator<T, O> implements Spliterator<O> {
         return true;
     }
 
+    @Override
+    public void forEachRemaining(Consumer<? super O> action) {
+        List<T> mergeables = new ArrayList<>(sources.length);
+        Consumer<T> sink = mergeables::add;
+
+        while (true) {
+            mergeables.clear();
+            for (Spliterator<T> source : sources) {
+                source.tryAdvance(sink);
+            }
+
+            if (mergeables.isEmpty()) {
+                return;
+            }
+
+            O merged = unitSupplier.get();
+            for (T mergeable : mergeables) {
+                merged = merger.apply(merged, mergeable);
+            }
+            action.accept(merged);
+        }
+    }
+
     @Override
     public Spliterator<O> trySplit() {
         return null;
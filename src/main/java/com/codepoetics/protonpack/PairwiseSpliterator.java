@@ -0,0 +1,97 @@
+package com.codepoetics.protonpack;
+
+import java.util.Spliterator;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+
+class PairwiseSpliterator<T, O> implements Spliterator<O> {
+
+    static <T, O> Spliterator<O> pairing(Spliterator<T> source, BiFunction<? super T, ? super T, ? extends O> combiner) {
+        return new PairwiseSpliterator<>(source, combiner);
+    }
+
+    private Spliterator<T> source;
+    private final BiFunction<? super T, ? super T, ? extends O> combiner;
+    private T previous;
+    private T next;
+    private boolean hasPrevious = false;
+    private final Consumer<T> previousSink = value -> previous = value;
+    private final Consumer<T> nextSink = value -> next = value;
+
+    private PairwiseSpliterator(Spliterator<T> source, BiFunction<? super T, ? super T, ? extends O> combiner) {
+        this.source = source;
+        this.combiner = combiner;
+    }
+
+    private boolean seed() {
+        if (!hasPrevious) {
+            hasPrevious = source.tryAdvance(previousSink);
+        }
+        return hasPrevious;
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super O> action) {
+        if (!seed() || !source.tryAdvance(nextSink)) {
+            return false;
+        }
+        T left = previous;
+        previous = next;
+        action.accept(combiner.apply(left, previous));
+        return true;
+    }
+
+    @Override
+    public void forEachRemaining(Consumer<? super O> action) {
+        if (seed()) {
+            source.forEachRemaining(value -> {
+                T left = previous;
+                previous = value;
+                action.accept(combiner.apply(left, value));
+            });
+        }
+    }
+
+    /**
+     * Splits a SUBSIZED source, handing the prefix a copy of the first element of the rest, which the last pair of
+     * the prefix shares with the first pair of the rest.
+     */
+    @Override
+    public Spliterator<O> trySplit() {
+        if (!source.hasCharacteristics(Spliterator.SUBSIZED)) {
+            return null;
+        }
+        Spliterator<T> prefix = source.trySplit();
+        if (prefix == null) {
+            return null;
+        }
+        if (prefix.estimateSize() == 0 || source.estimateSize() == 0) {
+            source = ConcatSpliterator.concat(prefix, source);
+            return null;
+        }
+
+        T carried = previous;
+        boolean seeded = hasPrevious;
+        hasPrevious = source.tryAdvance(previousSink);
+
+        PairwiseSpliterator<T, O> prefixPairs = new PairwiseSpliterator<>(
+                SplicedSpliterator.after(prefix, new Object[] { previous }), combiner);
+        prefixPairs.previous = carried;
+        prefixPairs.hasPrevious = seeded;
+        return prefixPairs;
+    }
+
+    @Override
+    public long estimateSize() {
+        long sourceSize = source.estimateSize();
+        if (hasPrevious || sourceSize == Long.MAX_VALUE) {
+            return sourceSize;
+        }
+        return Math.max(sourceSize - 1, 0);
+    }
+
+    @Override
+    public int characteristics() {
+        return source.characteristics() & ~(Spliterator.DISTINCT | Spliterator.SORTED | Spliterator.NONNULL);
+    }
+}
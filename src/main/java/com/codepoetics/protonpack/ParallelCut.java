@@ -0,0 +1,202 @@
+package com.codepoetics.protonpack;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * Evaluates takeWhile and skipUntil over a SUBSIZED source in parallel. The source is split into chunks which are
+ * searched concurrently for the first element at which the condition flips (the "cut"), buffering the elements they
+ * pass over. Once a cut is found, chunks further to the right stop searching, as nothing they hold can change the
+ * result. The elements either side of the leftmost cut are then stitched back together in encounter order, without
+ * further copying: a skip streams the unsearched remainder of each chunk straight from its part of the source.
+ */
+final class ParallelCut {
+
+    static final int CHARACTERISTICS = Spliterator.ORDERED | Spliterator.SIZED | Spliterator.SUBSIZED;
+
+    private ParallelCut() {
+    }
+
+    static <T> Spliterator<T> takingWhile(Spliterator<T> source, Predicate<T> condition, boolean inclusive) {
+        return cut(source, condition.negate(), true, inclusive);
+    }
+
+    static <T> Spliterator<T> skippingUntil(Spliterator<T> source, Predicate<T> condition, boolean inclusive) {
+        return cut(source, condition, false, inclusive);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> Spliterator<T> cut(Spliterator<T> source, Predicate<T> trigger, boolean take, boolean inclusive) {
+        long size = source.estimateSize();
+        long threshold = Math.max(1, size / (ForkJoinPool.getCommonPoolParallelism() << 2));
+        AtomicLong firstCut = new AtomicLong(Long.MAX_VALUE);
+
+        List<Chunk> chunks = new CutTask<>(source, 0, threshold, trigger, take, firstCut).invoke();
+
+        long cut = firstCut.get();
+        long from = take ? 0 : (inclusive && cut != Long.MAX_VALUE ? cut + 1 : cut);
+        long to = take ? (inclusive && cut != Long.MAX_VALUE ? cut + 1 : cut) : Long.MAX_VALUE;
+
+        List<Spliterator<Object>> kept = new ArrayList<>();
+        for (Chunk chunk : chunks) {
+            int start = (int) Math.min(Math.max(from - chunk.offset, 0), chunk.values.size());
+            int end = (int) Math.min(Math.max(to - chunk.offset, 0), chunk.values.size());
+            if (start < end) {
+                kept.add(chunk.values.subList(start, end).spliterator());
+            }
+            if (!take) {
+                kept.add(chunk.rest);
+            }
+        }
+        return (Spliterator<T>) new Pieces<>(kept, 0, kept.size());
+    }
+
+    /**
+     * The elements a chunk passed over while searching, starting at its offset, and the part of the source it did
+     * not search.
+     */
+    private static final class Chunk {
+        private final long offset;
+        private final List<Object> values;
+        private final Spliterator<Object> rest;
+
+        private Chunk(long offset, List<Object> values, Spliterator<Object> rest) {
+            this.offset = offset;
+            this.values = values;
+            this.rest = rest;
+        }
+    }
+
+    /**
+     * Streams a run of spliterators one after another, splitting between them where there is more than one left.
+     */
+    private static final class Pieces<T> implements Spliterator<T> {
+        private final List<Spliterator<T>> pieces;
+        private int index;
+        private final int fence;
+
+        private Pieces(List<Spliterator<T>> pieces, int index, int fence) {
+            this.pieces = pieces;
+            this.index = index;
+            this.fence = fence;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super T> action) {
+            for (; index < fence; index++) {
+                if (pieces.get(index).tryAdvance(action)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super T> action) {
+            for (; index < fence; index++) {
+                pieces.get(index).forEachRemaining(action);
+            }
+        }
+
+        @Override
+        public Spliterator<T> trySplit() {
+            if (fence - index > 1) {
+                int mid = (index + fence) >>> 1;
+                Spliterator<T> prefix = new Pieces<>(pieces, index, mid);
+                index = mid;
+                return prefix;
+            }
+            return index < fence ? pieces.get(index).trySplit() : null;
+        }
+
+        @Override
+        public long estimateSize() {
+            long size = 0;
+            for (int i = index; i < fence; i++) {
+                size += pieces.get(i).estimateSize();
+            }
+            return size;
+        }
+
+        @Override
+        public int characteristics() {
+            return CHARACTERISTICS;
+        }
+    }
+
+    private static final class CutTask<T> extends RecursiveTask<List<Chunk>> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final Spliterator<T> source;
+        private final long offset;
+        private final long threshold;
+        private final Predicate<T> trigger;
+        private final boolean take;
+        private final AtomicLong firstCut;
+
+        private long position;
+        private boolean searching;
+
+        private CutTask(Spliterator<T> source, long offset, long threshold, Predicate<T> trigger, boolean take, AtomicLong firstCut) {
+            this.source = source;
+            this.offset = offset;
+            this.threshold = threshold;
+            this.trigger = trigger;
+            this.take = take;
+            this.firstCut = firstCut;
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        protected List<Chunk> compute() {
+            if (take && offset > firstCut.get()) {
+                return new ArrayList<>();
+            }
+
+            Spliterator<T> prefix;
+            if (source.estimateSize() > threshold && (prefix = source.trySplit()) != null) {
+                CutTask<T> left = new CutTask<>(prefix, offset, threshold, trigger, take, firstCut);
+                CutTask<T> right = new CutTask<>(source, offset + prefix.getExactSizeIfKnown(), threshold, trigger, take, firstCut);
+                right.fork();
+                List<Chunk> chunks = left.compute();
+                chunks.addAll(right.join());
+                return chunks;
+            }
+
+            List<Chunk> chunks = new ArrayList<>();
+            chunks.add(new Chunk(offset, traverse(), (Spliterator<Object>) source));
+            return chunks;
+        }
+
+        private List<Object> traverse() {
+            List<Object> values = new ArrayList<>();
+            position = offset;
+            searching = firstCut.get() > offset;
+
+            Consumer<T> sink = value -> {
+                values.add(value);
+                if (searching && trigger.test(value)) {
+                    firstCut.accumulateAndGet(position, Math::min);
+                    searching = false;
+                }
+                position++;
+            };
+
+            if (take) {
+                // Anything past the leftmost cut found so far will be discarded, so stop as soon as we pass it.
+                while (position <= firstCut.get() && searching && source.tryAdvance(sink));
+            } else {
+                // Once a cut has been found to the left, everything from here on is kept, so the rest needn't be read.
+                while (searching && firstCut.get() > offset && source.tryAdvance(sink));
+            }
+            return values;
+        }
+    }
+}
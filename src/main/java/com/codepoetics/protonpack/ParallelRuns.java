@@ -0,0 +1,124 @@
+package com.codepoetics.protonpack;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.BiConsumer;
+import java.util.function.BiPredicate;
+import java.util.function.BinaryOperator;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collector;
+
+/**
+ * Evaluates collectingRuns over a SUBSIZED source in parallel. The source is split into chunks, each of which is
+ * divided into runs concurrently, collecting each run into its own container. Adjacent chunks are then stitched
+ * together in encounter order: where the last element of one chunk and the first element of the next belong to the
+ * same run, the two containers either side of the boundary are merged with the collector's combiner.
+ */
+final class ParallelRuns {
+
+    static final int CHARACTERISTICS = Spliterator.ORDERED | Spliterator.SIZED | Spliterator.SUBSIZED;
+
+    private ParallelRuns() {
+    }
+
+    static <T, A, R> Spliterator<R> collectingRuns(Spliterator<T> source, BiPredicate<? super T, ? super T> sameRun,
+                                                   Collector<? super T, A, R> collector) {
+        long threshold = Math.max(1, source.estimateSize() / (ForkJoinPool.getCommonPoolParallelism() << 2));
+
+        Chunk<T, A> chunk = new RunsTask<T, A>(source, threshold, sameRun, collector).invoke();
+
+        Function<A, R> finisher = collector.finisher();
+        Object[] results = new Object[chunk.runs.size()];
+        for (int i = 0; i < results.length; i++) {
+            results[i] = finisher.apply(chunk.runs.get(i));
+        }
+        return Spliterators.spliterator(results, CHARACTERISTICS);
+    }
+
+    /**
+     * The runs found in a contiguous part of the source, with the elements at either end, which decide whether its
+     * first and last runs continue into its neighbours.
+     */
+    private static final class Chunk<T, A> {
+        private final List<A> runs = new ArrayList<>();
+        private T first;
+        private T last;
+
+        private boolean isEmpty() {
+            return runs.isEmpty();
+        }
+
+        private Chunk<T, A> append(Chunk<T, A> next, BiPredicate<? super T, ? super T> sameRun, BinaryOperator<A> combiner) {
+            if (isEmpty()) {
+                return next;
+            }
+            if (next.isEmpty()) {
+                return this;
+            }
+
+            int from = 0;
+            if (sameRun.test(last, next.first)) {
+                int end = runs.size() - 1;
+                runs.set(end, combiner.apply(runs.get(end), next.runs.get(0)));
+                from = 1;
+            }
+            runs.addAll(next.runs.subList(from, next.runs.size()));
+            last = next.last;
+            return this;
+        }
+    }
+
+    private static final class RunsTask<T, A> extends RecursiveTask<Chunk<T, A>> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final Spliterator<T> source;
+        private final long threshold;
+        private final BiPredicate<? super T, ? super T> sameRun;
+        private final Collector<? super T, A, ?> collector;
+
+        private RunsTask(Spliterator<T> source, long threshold, BiPredicate<? super T, ? super T> sameRun,
+                         Collector<? super T, A, ?> collector) {
+            this.source = source;
+            this.threshold = threshold;
+            this.sameRun = sameRun;
+            this.collector = collector;
+        }
+
+        @Override
+        protected Chunk<T, A> compute() {
+            Spliterator<T> prefix;
+            if (source.estimateSize() > threshold && (prefix = source.trySplit()) != null) {
+                RunsTask<T, A> left = new RunsTask<>(prefix, threshold, sameRun, collector);
+                RunsTask<T, A> right = new RunsTask<>(source, threshold, sameRun, collector);
+                right.fork();
+                Chunk<T, A> chunk = left.compute();
+                return chunk.append(right.join(), sameRun, collector.combiner());
+            }
+            return traverse();
+        }
+
+        private Chunk<T, A> traverse() {
+            Supplier<A> supplier = collector.supplier();
+            BiConsumer<A, ? super T> accumulator = collector.accumulator();
+            Chunk<T, A> chunk = new Chunk<>();
+
+            source.forEachRemaining(item -> {
+                if (chunk.isEmpty()) {
+                    chunk.first = item;
+                    chunk.runs.add(supplier.get());
+                } else if (!sameRun.test(chunk.last, item)) {
+                    chunk.runs.add(supplier.get());
+                }
+                accumulator.accept(chunk.runs.get(chunk.runs.size() - 1), item);
+                chunk.last = item;
+            });
+            return chunk;
+        }
+    }
+}
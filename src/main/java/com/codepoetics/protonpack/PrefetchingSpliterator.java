@@ -0,0 +1,275 @@
+package com.codepoetics.protonpack;
+
+import java.util.Spliterator;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+
+/**
+ * Reads a source ahead of its consumer on an executor, into a buffer of fixed size. Reading is done by refill tasks,
+ * which are submitted only when the consumer takes a value from a buffer that has room, and which return their thread
+ * to the executor as soon as the buffer is full, so a consumer that stops early never leaves a thread parked.
+ */
+class PrefetchingSpliterator<T> implements Spliterator<T> {
+
+    static <T> PrefetchingSpliterator<T> prefetching(Spliterator<T> source, int prefetch, Executor executor) {
+        return new PrefetchingSpliterator<>(source, prefetch, executor);
+    }
+
+    /**
+     * Wraps a spliterator reading from the given prefetchers so that they all start together when it is first
+     * traversed, and all stop reading ahead as soon as it runs out, for example because one of the sources it zips
+     * together has ended.
+     */
+    static <T> Spliterator<T> cancellingWhenExhausted(Spliterator<T> spliterator, PrefetchingSpliterator<?>... prefetchers) {
+        return new CancellingWhenExhausted<>(spliterator, prefetchers);
+    }
+
+    private static final Object END = new Object();
+    private static final Object NULL = new Object();
+
+    private final Spliterator<T> source;
+    private final BlockingQueue<Object> buffer;
+    private final Executor executor;
+    private final int characteristics;
+    private long remaining;
+    private boolean started = false;
+    private boolean finished = false;
+
+    private volatile boolean cancelled = false;
+    private volatile boolean exhausted = false;
+    // Whether a refill task has been submitted, and whether it has started reading; guarded by this.
+    private boolean filling = false;
+    private boolean reading = false;
+
+    private PrefetchingSpliterator(Spliterator<T> source, int prefetch, Executor executor) {
+        this.source = source;
+        this.buffer = new ArrayBlockingQueue<>(prefetch);
+        this.executor = executor;
+        this.characteristics = source.characteristics() & ~Spliterator.CONCURRENT;
+        this.remaining = source.estimateSize();
+    }
+
+    void start() {
+        if (!started) {
+            started = true;
+            fill();
+        }
+    }
+
+    /**
+     * Stops reading ahead. A refill task already reading from the source finishes its current read and exits.
+     */
+    void cancel() {
+        finished = true;
+        cancelled = true;
+        buffer.clear();
+    }
+
+    /**
+     * Stops reading ahead, and waits until no refill task is reading from the source, so that it can safely be closed.
+     */
+    synchronized void close() {
+        cancel();
+
+        boolean interrupted = false;
+        while (reading) {
+            try {
+                wait();
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private boolean isFillable() {
+        return !cancelled && !exhausted && buffer.remainingCapacity() > 0;
+    }
+
+    private void fill() {
+        synchronized (this) {
+            if (filling || !isFillable()) {
+                return;
+            }
+            filling = true;
+        }
+
+        try {
+            executor.execute(this::refill);
+        } catch (RuntimeException e) {
+            synchronized (this) {
+                filling = false;
+            }
+            throw e;
+        }
+    }
+
+    // Runs on the executor. As this is the only task adding to the buffer, there is always room for what it adds.
+    private void refill() {
+        synchronized (this) {
+            // Once cancelled, a task which has not yet started must not touch a source that may be being closed.
+            if (cancelled) {
+                filling = false;
+                return;
+            }
+            reading = true;
+        }
+
+        while (true) {
+            while (isFillable()) {
+                readAhead();
+            }
+            synchronized (this) {
+                // The consumer may have made room after the last check, without submitting a task of its own.
+                if (!isFillable()) {
+                    filling = false;
+                    reading = false;
+                    notifyAll();
+                    return;
+                }
+            }
+        }
+    }
+
+    private void readAhead() {
+        try {
+            if (!source.tryAdvance(value -> buffer.add(value == null ? NULL : value))) {
+                exhausted = true;
+                buffer.add(END);
+            }
+        } catch (Throwable t) {
+            exhausted = true;
+            buffer.add(new Failure(t));
+        }
+    }
+
+    private Object take() {
+        try {
+            return buffer.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            cancel();
+            throw new IllegalStateException("Interrupted while waiting for a prefetched value", e);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public boolean tryAdvance(Consumer<? super T> action) {
+        if (finished) {
+            return false;
+        }
+        start();
+
+        Object next = take();
+        fill();
+        if (next == END) {
+            finished = true;
+            remaining = 0;
+            return false;
+        }
+        if (next instanceof Failure) {
+            cancel();
+            throw ((Failure) next).rethrow();
+        }
+        if (remaining > 0 && remaining != Long.MAX_VALUE) {
+            remaining--;
+        }
+        action.accept(next == NULL ? null : (T) next);
+        return true;
+    }
+
+    @Override
+    public Spliterator<T> trySplit() {
+        return null;
+    }
+
+    @Override
+    public long estimateSize() {
+        return remaining;
+    }
+
+    @Override
+    public int characteristics() {
+        return characteristics;
+    }
+
+    private static final class CancellingWhenExhausted<T> implements Spliterator<T> {
+        private final Spliterator<T> spliterator;
+        private final PrefetchingSpliterator<?>[] prefetchers;
+
+        private CancellingWhenExhausted(Spliterator<T> spliterator, PrefetchingSpliterator<?>[] prefetchers) {
+            this.spliterator = spliterator;
+            this.prefetchers = prefetchers;
+        }
+
+        private void startAll() {
+            for (PrefetchingSpliterator<?> prefetcher : prefetchers) {
+                prefetcher.start();
+            }
+        }
+
+        private void cancelAll() {
+            for (PrefetchingSpliterator<?> prefetcher : prefetchers) {
+                prefetcher.cancel();
+            }
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super T> action) {
+            startAll();
+            if (spliterator.tryAdvance(action)) {
+                return true;
+            }
+            cancelAll();
+            return false;
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super T> action) {
+            startAll();
+            try {
+                spliterator.forEachRemaining(action);
+            } finally {
+                cancelAll();
+            }
+        }
+
+        @Override
+        public Spliterator<T> trySplit() {
+            return null;
+        }
+
+        @Override
+        public long estimateSize() {
+            return spliterator.estimateSize();
+        }
+
+        @Override
+        public int characteristics() {
+            return spliterator.characteristics();
+        }
+    }
+
+    private static final class Failure {
+        private final Throwable cause;
+
+        private Failure(Throwable cause) {
+            this.cause = cause;
+        }
+
+        private RuntimeException rethrow() {
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new RuntimeException(cause);
+        }
+    }
+}
@@ -0,0 +1,194 @@
+package com.codepoetics.protonpack;
+
+import java.util.Spliterator;
+import java.util.function.DoubleConsumer;
+import java.util.function.DoublePredicate;
+import java.util.function.DoubleUnaryOperator;
+import java.util.function.IntConsumer;
+import java.util.function.IntPredicate;
+import java.util.function.IntUnaryOperator;
+import java.util.function.LongConsumer;
+import java.util.function.LongPredicate;
+import java.util.function.LongUnaryOperator;
+
+final class PrimitiveUnfoldSpliterator {
+
+    private static final int CHARACTERISTICS = Spliterator.IMMUTABLE | Spliterator.NONNULL | Spliterator.ORDERED;
+
+    private PrimitiveUnfoldSpliterator() {
+    }
+
+    static Spliterator.OfInt unfoldingInts(int seed, IntUnaryOperator step, IntPredicate condition) {
+        return new UnfoldingInts(seed, step, condition);
+    }
+
+    static Spliterator.OfLong unfoldingLongs(long seed, LongUnaryOperator step, LongPredicate condition) {
+        return new UnfoldingLongs(seed, step, condition);
+    }
+
+    static Spliterator.OfDouble unfoldingDoubles(double seed, DoubleUnaryOperator step, DoublePredicate condition) {
+        return new UnfoldingDoubles(seed, step, condition);
+    }
+
+    private static final class UnfoldingInts implements Spliterator.OfInt {
+
+        private int current;
+        private final IntUnaryOperator step;
+        private final IntPredicate condition;
+        private boolean finished = false;
+
+        private UnfoldingInts(int seed, IntUnaryOperator step, IntPredicate condition) {
+            this.current = seed;
+            this.step = step;
+            this.condition = condition;
+        }
+
+        @Override
+        public boolean tryAdvance(IntConsumer action) {
+            if (finished || !condition.test(current)) {
+                finished = true;
+                return false;
+            }
+            action.accept(current);
+            current = step.applyAsInt(current);
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining(IntConsumer action) {
+            if (finished) {
+                return;
+            }
+            int value = current;
+            while (condition.test(value)) {
+                action.accept(value);
+                value = step.applyAsInt(value);
+            }
+            current = value;
+            finished = true;
+        }
+
+        @Override
+        public Spliterator.OfInt trySplit() {
+            return null;
+        }
+
+        @Override
+        public long estimateSize() {
+            return finished ? 0 : Long.MAX_VALUE;
+        }
+
+        @Override
+        public int characteristics() {
+            return CHARACTERISTICS;
+        }
+    }
+
+    private static final class UnfoldingLongs implements Spliterator.OfLong {
+
+        private long current;
+        private final LongUnaryOperator step;
+        private final LongPredicate condition;
+        private boolean finished = false;
+
+        private UnfoldingLongs(long seed, LongUnaryOperator step, LongPredicate condition) {
+            this.current = seed;
+            this.step = step;
+            this.condition = condition;
+        }
+
+        @Override
+        public boolean tryAdvance(LongConsumer action) {
+            if (finished || !condition.test(current)) {
+                finished = true;
+                return false;
+            }
+            action.accept(current);
+            current = step.applyAsLong(current);
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining(LongConsumer action) {
+            if (finished) {
+                return;
+            }
+            long value = current;
+            while (condition.test(value)) {
+                action.accept(value);
+                value = step.applyAsLong(value);
+            }
+            current = value;
+            finished = true;
+        }
+
+        @Override
+        public Spliterator.OfLong trySplit() {
+            return null;
+        }
+
+        @Override
+        public long estimateSize() {
+            return finished ? 0 : Long.MAX_VALUE;
+        }
+
+        @Override
+        public int characteristics() {
+            return CHARACTERISTICS;
+        }
+    }
+
+    private static final class UnfoldingDoubles implements Spliterator.OfDouble {
+
+        private double current;
+        private final DoubleUnaryOperator step;
+        private final DoublePredicate condition;
+        private boolean finished = false;
+
+        private UnfoldingDoubles(double seed, DoubleUnaryOperator step, DoublePredicate condition) {
+            this.current = seed;
+            this.step = step;
+            this.condition = condition;
+        }
+
+        @Override
+        public boolean tryAdvance(DoubleConsumer action) {
+            if (finished || !condition.test(current)) {
+                finished = true;
+                return false;
+            }
+            action.accept(current);
+            current = step.applyAsDouble(current);
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining(DoubleConsumer action) {
+            if (finished) {
+                return;
+            }
+            double value = current;
+            while (condition.test(value)) {
+                action.accept(value);
+                value = step.applyAsDouble(value);
+            }
+            current = value;
+            finished = true;
+        }
+
+        @Override
+        public Spliterator.OfDouble trySplit() {
+            return null;
+        }
+
+        @Override
+        public long estimateSize() {
+            return finished ? 0 : Long.MAX_VALUE;
+        }
+
+        @Override
+        public int characteristics() {
+            return CHARACTERISTICS;
+        }
+    }
+}
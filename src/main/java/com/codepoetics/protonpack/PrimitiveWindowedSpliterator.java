@@ -0,0 +1,407 @@
+package com.codepoetics.protonpack;
+
+import com.codepoetics.protonpack.functions.DoubleSliceFunction;
+import com.codepoetics.protonpack.functions.IntSliceFunction;
+import com.codepoetics.protonpack.functions.LongSliceFunction;
+
+import java.util.Spliterator;
+import java.util.function.DoubleBinaryOperator;
+import java.util.function.DoubleConsumer;
+import java.util.function.IntBinaryOperator;
+import java.util.function.IntConsumer;
+import java.util.function.LongBinaryOperator;
+import java.util.function.LongConsumer;
+
+/**
+ * Windows over primitive streams, taken as by {@link WindowedSpliterator} but kept in a primitive ring buffer. The
+ * buffer is twice the window size, and each value is written to both halves, so that every window can be passed on
+ * as one contiguous slice of the buffer.
+ */
+final class PrimitiveWindowedSpliterator {
+
+    private PrimitiveWindowedSpliterator() {
+    }
+
+    private static int characteristics(Spliterator<?> source) {
+        return source.characteristics()
+                & ~(Spliterator.SIZED | Spliterator.SUBSIZED | Spliterator.SORTED | Spliterator.DISTINCT);
+    }
+
+    static Spliterator.OfInt slicing(Spliterator.OfInt source, int windowSize, int skip, IntSliceFunction function) {
+        return new WindowingInts(source, windowSize, skip, function, 0, null, null);
+    }
+
+    static Spliterator.OfInt reducing(Spliterator.OfInt source, int windowSize, int skip, int identity,
+                                     IntBinaryOperator accumulator, IntBinaryOperator deaccumulator) {
+        return new WindowingInts(source, windowSize, skip, null, identity, accumulator, deaccumulator);
+    }
+
+    static Spliterator.OfLong slicing(Spliterator.OfLong source, int windowSize, int skip, LongSliceFunction function) {
+        return new WindowingLongs(source, windowSize, skip, function, 0, null, null);
+    }
+
+    static Spliterator.OfLong reducing(Spliterator.OfLong source, int windowSize, int skip, long identity,
+                                     LongBinaryOperator accumulator, LongBinaryOperator deaccumulator) {
+        return new WindowingLongs(source, windowSize, skip, null, identity, accumulator, deaccumulator);
+    }
+
+    static Spliterator.OfDouble slicing(Spliterator.OfDouble source, int windowSize, int skip, DoubleSliceFunction function) {
+        return new WindowingDoubles(source, windowSize, skip, function, 0, null, null);
+    }
+
+    static Spliterator.OfDouble reducing(Spliterator.OfDouble source, int windowSize, int skip, double identity,
+                                     DoubleBinaryOperator accumulator, DoubleBinaryOperator deaccumulator) {
+        return new WindowingDoubles(source, windowSize, skip, null, identity, accumulator, deaccumulator);
+    }
+
+    private static final class WindowingInts implements Spliterator.OfInt {
+
+        private final Spliterator.OfInt source;
+        private final int windowSize;
+        private final int skip;
+        private final IntSliceFunction function;
+        private final IntBinaryOperator accumulator;
+        private final IntBinaryOperator deaccumulator;
+        private final int[] buffer;
+        private final IntConsumer append = this::append;
+        private int start = 0;
+        private int count = 0;
+        private int reduction;
+        private boolean windowSeeded = false;
+        // During bulk traversal, the number of values still to be read before the next window is complete.
+        private int toRead;
+
+        private WindowingInts(Spliterator.OfInt source, int windowSize, int skip, IntSliceFunction function,
+                              int identity, IntBinaryOperator accumulator, IntBinaryOperator deaccumulator) {
+            this.source = source;
+            this.windowSize = windowSize;
+            this.skip = skip;
+            this.function = function;
+            this.accumulator = accumulator;
+            this.deaccumulator = deaccumulator;
+            this.buffer = new int[windowSize * 2];
+            this.reduction = identity;
+        }
+
+        private void append(int value) {
+            if (count == windowSize) {
+                if (function == null) {
+                    reduction = deaccumulator.applyAsInt(reduction, buffer[start]);
+                }
+                start = start + 1 < windowSize ? start + 1 : 0;
+            } else {
+                count++;
+            }
+            int end = start + count - 1;
+            int position = end < windowSize ? end : end - windowSize;
+            buffer[position] = value;
+            buffer[position + windowSize] = value;
+            if (function == null) {
+                reduction = accumulator.applyAsInt(reduction, value);
+            }
+        }
+
+        private boolean hasNext() {
+            if (!windowSeeded) {
+                while (count < windowSize && source.tryAdvance(append));
+                windowSeeded = true;
+            }
+            return count == windowSize;
+        }
+
+        private void nextWindow() {
+            for (int i = 0; i < skip; i++) {
+                if (!source.tryAdvance(append)) {
+                    count = 0;
+                    return;
+                }
+            }
+        }
+
+        private int windowResult() {
+            return function == null ? reduction : function.applyAsInt(buffer, start, windowSize);
+        }
+
+        @Override
+        public boolean tryAdvance(IntConsumer action) {
+            if (!hasNext()) {
+                return false;
+            }
+            int result = windowResult();
+            nextWindow();
+            action.accept(result);
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining(IntConsumer action) {
+            if (!windowSeeded) {
+                windowSeeded = true;
+                toRead = windowSize;
+            } else if (count == windowSize) {
+                action.accept(windowResult());
+                toRead = skip;
+            } else {
+                return;
+            }
+
+            source.forEachRemaining((int value) -> {
+                append(value);
+                if (--toRead == 0) {
+                    action.accept(windowResult());
+                    toRead = skip;
+                }
+            });
+            count = 0;
+        }
+
+        @Override
+        public Spliterator.OfInt trySplit() {
+            return null;
+        }
+
+        @Override
+        public long estimateSize() {
+            return source.estimateSize();
+        }
+
+        @Override
+        public int characteristics() {
+            return PrimitiveWindowedSpliterator.characteristics(source);
+        }
+    }
+
+    private static final class WindowingLongs implements Spliterator.OfLong {
+
+        private final Spliterator.OfLong source;
+        private final int windowSize;
+        private final int skip;
+        private final LongSliceFunction function;
+        private final LongBinaryOperator accumulator;
+        private final LongBinaryOperator deaccumulator;
+        private final long[] buffer;
+        private final LongConsumer append = this::append;
+        private int start = 0;
+        private int count = 0;
+        private long reduction;
+        private boolean windowSeeded = false;
+        // During bulk traversal, the number of values still to be read before the next window is complete.
+        private int toRead;
+
+        private WindowingLongs(Spliterator.OfLong source, int windowSize, int skip, LongSliceFunction function,
+                              long identity, LongBinaryOperator accumulator, LongBinaryOperator deaccumulator) {
+            this.source = source;
+            this.windowSize = windowSize;
+            this.skip = skip;
+            this.function = function;
+            this.accumulator = accumulator;
+            this.deaccumulator = deaccumulator;
+            this.buffer = new long[windowSize * 2];
+            this.reduction = identity;
+        }
+
+        private void append(long value) {
+            if (count == windowSize) {
+                if (function == null) {
+                    reduction = deaccumulator.applyAsLong(reduction, buffer[start]);
+                }
+                start = start + 1 < windowSize ? start + 1 : 0;
+            } else {
+                count++;
+            }
+            int end = start + count - 1;
+            int position = end < windowSize ? end : end - windowSize;
+            buffer[position] = value;
+            buffer[position + windowSize] = value;
+            if (function == null) {
+                reduction = accumulator.applyAsLong(reduction, value);
+            }
+        }
+
+        private boolean hasNext() {
+            if (!windowSeeded) {
+                while (count < windowSize && source.tryAdvance(append));
+                windowSeeded = true;
+            }
+            return count == windowSize;
+        }
+
+        private void nextWindow() {
+            for (int i = 0; i < skip; i++) {
+                if (!source.tryAdvance(append)) {
+                    count = 0;
+                    return;
+                }
+            }
+        }
+
+        private long windowResult() {
+            return function == null ? reduction : function.applyAsLong(buffer, start, windowSize);
+        }
+
+        @Override
+        public boolean tryAdvance(LongConsumer action) {
+            if (!hasNext()) {
+                return false;
+            }
+            long result = windowResult();
+            nextWindow();
+            action.accept(result);
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining(LongConsumer action) {
+            if (!windowSeeded) {
+                windowSeeded = true;
+                toRead = windowSize;
+            } else if (count == windowSize) {
+                action.accept(windowResult());
+                toRead = skip;
+            } else {
+                return;
+            }
+
+            source.forEachRemaining((long value) -> {
+                append(value);
+                if (--toRead == 0) {
+                    action.accept(windowResult());
+                    toRead = skip;
+                }
+            });
+            count = 0;
+        }
+
+        @Override
+        public Spliterator.OfLong trySplit() {
+            return null;
+        }
+
+        @Override
+        public long estimateSize() {
+            return source.estimateSize();
+        }
+
+        @Override
+        public int characteristics() {
+            return PrimitiveWindowedSpliterator.characteristics(source);
+        }
+    }
+
+    private static final class WindowingDoubles implements Spliterator.OfDouble {
+
+        private final Spliterator.OfDouble source;
+        private final int windowSize;
+        private final int skip;
+        private final DoubleSliceFunction function;
+        private final DoubleBinaryOperator accumulator;
+        private final DoubleBinaryOperator deaccumulator;
+        private final double[] buffer;
+        private final DoubleConsumer append = this::append;
+        private int start = 0;
+        private int count = 0;
+        private double reduction;
+        private boolean windowSeeded = false;
+        // During bulk traversal, the number of values still to be read before the next window is complete.
+        private int toRead;
+
+        private WindowingDoubles(Spliterator.OfDouble source, int windowSize, int skip, DoubleSliceFunction function,
+                              double identity, DoubleBinaryOperator accumulator, DoubleBinaryOperator deaccumulator) {
+            this.source = source;
+            this.windowSize = windowSize;
+            this.skip = skip;
+            this.function = function;
+            this.accumulator = accumulator;
+            this.deaccumulator = deaccumulator;
+            this.buffer = new double[windowSize * 2];
+            this.reduction = identity;
+        }
+
+        private void append(double value) {
+            if (count == windowSize) {
+                if (function == null) {
+                    reduction = deaccumulator.applyAsDouble(reduction, buffer[start]);
+                }
+                start = start + 1 < windowSize ? start + 1 : 0;
+            } else {
+                count++;
+            }
+            int end = start + count - 1;
+            int position = end < windowSize ? end : end - windowSize;
+            buffer[position] = value;
+            buffer[position + windowSize] = value;
+            if (function == null) {
+                reduction = accumulator.applyAsDouble(reduction, value);
+            }
+        }
+
+        private boolean hasNext() {
+            if (!windowSeeded) {
+                while (count < windowSize && source.tryAdvance(append));
+                windowSeeded = true;
+            }
+            return count == windowSize;
+        }
+
+        private void nextWindow() {
+            for (int i = 0; i < skip; i++) {
+                if (!source.tryAdvance(append)) {
+                    count = 0;
+                    return;
+                }
+            }
+        }
+
+        private double windowResult() {
+            return function == null ? reduction : function.applyAsDouble(buffer, start, windowSize);
+        }
+
+        @Override
+        public boolean tryAdvance(DoubleConsumer action) {
+            if (!hasNext()) {
+                return false;
+            }
+            double result = windowResult();
+            nextWindow();
+            action.accept(result);
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining(DoubleConsumer action) {
+            if (!windowSeeded) {
+                windowSeeded = true;
+                toRead = windowSize;
+            } else if (count == windowSize) {
+                action.accept(windowResult());
+                toRead = skip;
+            } else {
+                return;
+            }
+
+            source.forEachRemaining((double value) -> {
+                append(value);
+                if (--toRead == 0) {
+                    action.accept(windowResult());
+                    toRead = skip;
+                }
+            });
+            count = 0;
+        }
+
+        @Override
+        public Spliterator.OfDouble trySplit() {
+            return null;
+        }
+
+        @Override
+        public long estimateSize() {
+            return source.estimateSize();
+        }
+
+        @Override
+        public int characteristics() {
+            return PrimitiveWindowedSpliterator.characteristics(source);
+        }
+    }
+}
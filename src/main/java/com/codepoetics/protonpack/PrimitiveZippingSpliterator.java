@@ -0,0 +1,251 @@
+package com.codepoetics.protonpack;
+
+import java.util.Spliterator;
+import java.util.function.DoubleBinaryOperator;
+import java.util.function.DoubleConsumer;
+import java.util.function.IntBinaryOperator;
+import java.util.function.IntConsumer;
+import java.util.function.LongBinaryOperator;
+import java.util.function.LongConsumer;
+
+final class PrimitiveZippingSpliterator {
+
+    private PrimitiveZippingSpliterator() {
+    }
+
+    static Spliterator.OfInt zipping(Spliterator.OfInt lefts, Spliterator.OfInt rights, IntBinaryOperator combiner) {
+        return new ZippingInts(lefts, rights, combiner);
+    }
+
+    static Spliterator.OfLong zipping(Spliterator.OfLong lefts, Spliterator.OfLong rights, LongBinaryOperator combiner) {
+        return new ZippingLongs(lefts, rights, combiner);
+    }
+
+    static Spliterator.OfDouble zipping(Spliterator.OfDouble lefts, Spliterator.OfDouble rights, DoubleBinaryOperator combiner) {
+        return new ZippingDoubles(lefts, rights, combiner);
+    }
+
+    private static int characteristics(Spliterator<?> lefts, Spliterator<?> rights) {
+        return lefts.characteristics() & rights.characteristics()
+                & ~(Spliterator.DISTINCT | Spliterator.SORTED);
+    }
+
+    private static final class ZippingInts implements Spliterator.OfInt {
+
+        private Spliterator.OfInt lefts;
+        private Spliterator.OfInt rights;
+        private final IntBinaryOperator combiner;
+        private int left;
+        private int right;
+        private final IntConsumer leftSink = l -> left = l;
+        private final IntConsumer rightSink = r -> right = r;
+
+        private ZippingInts(Spliterator.OfInt lefts, Spliterator.OfInt rights, IntBinaryOperator combiner) {
+            this.lefts = lefts;
+            this.rights = rights;
+            this.combiner = combiner;
+        }
+
+        @Override
+        public boolean tryAdvance(IntConsumer action) {
+            if (lefts.tryAdvance(leftSink) && rights.tryAdvance(rightSink)) {
+                action.accept(combiner.applyAsInt(left, right));
+                return true;
+            }
+            return false;
+        }
+
+        @Override
+        public void forEachRemaining(IntConsumer action) {
+            long leftSize = lefts.getExactSizeIfKnown();
+            long rightSize = rights.getExactSizeIfKnown();
+            if (leftSize >= 0 && rightSize >= 0) {
+                // Both sizes are known, so the shorter side can be driven in bulk without overrunning the longer one.
+                if (leftSize <= rightSize) {
+                    lefts.forEachRemaining((int l) -> {
+                        if (rights.tryAdvance(rightSink)) {
+                            action.accept(combiner.applyAsInt(l, right));
+                        }
+                    });
+                } else {
+                    rights.forEachRemaining((int r) -> {
+                        if (lefts.tryAdvance(leftSink)) {
+                            action.accept(combiner.applyAsInt(left, r));
+                        }
+                    });
+                }
+                return;
+            }
+
+            while (lefts.tryAdvance(leftSink) && rights.tryAdvance(rightSink)) {
+                action.accept(combiner.applyAsInt(left, right));
+            }
+        }
+
+        @Override
+        public Spliterator.OfInt trySplit() {
+            Spliterator.OfInt[] sources = { lefts, rights };
+            Spliterator.OfInt[] prefixes = AlignedSplits.trySplit(sources, ConcatSpliterator::concat);
+            lefts = sources[0];
+            rights = sources[1];
+
+            return prefixes == null ? null : new ZippingInts(prefixes[0], prefixes[1], combiner);
+        }
+
+        @Override
+        public long estimateSize() {
+            return Math.min(lefts.estimateSize(), rights.estimateSize());
+        }
+
+        @Override
+        public int characteristics() {
+            return PrimitiveZippingSpliterator.characteristics(lefts, rights);
+        }
+    }
+
+    private static final class ZippingLongs implements Spliterator.OfLong {
+
+        private Spliterator.OfLong lefts;
+        private Spliterator.OfLong rights;
+        private final LongBinaryOperator combiner;
+        private long left;
+        private long right;
+        private final LongConsumer leftSink = l -> left = l;
+        private final LongConsumer rightSink = r -> right = r;
+
+        private ZippingLongs(Spliterator.OfLong lefts, Spliterator.OfLong rights, LongBinaryOperator combiner) {
+            this.lefts = lefts;
+            this.rights = rights;
+            this.combiner = combiner;
+        }
+
+        @Override
+        public boolean tryAdvance(LongConsumer action) {
+            if (lefts.tryAdvance(leftSink) && rights.tryAdvance(rightSink)) {
+                action.accept(combiner.applyAsLong(left, right));
+                return true;
+            }
+            return false;
+        }
+
+        @Override
+        public void forEachRemaining(LongConsumer action) {
+            long leftSize = lefts.getExactSizeIfKnown();
+            long rightSize = rights.getExactSizeIfKnown();
+            if (leftSize >= 0 && rightSize >= 0) {
+                // Both sizes are known, so the shorter side can be driven in bulk without overrunning the longer one.
+                if (leftSize <= rightSize) {
+                    lefts.forEachRemaining((long l) -> {
+                        if (rights.tryAdvance(rightSink)) {
+                            action.accept(combiner.applyAsLong(l, right));
+                        }
+                    });
+                } else {
+                    rights.forEachRemaining((long r) -> {
+                        if (lefts.tryAdvance(leftSink)) {
+                            action.accept(combiner.applyAsLong(left, r));
+                        }
+                    });
+                }
+                return;
+            }
+
+            while (lefts.tryAdvance(leftSink) && rights.tryAdvance(rightSink)) {
+                action.accept(combiner.applyAsLong(left, right));
+            }
+        }
+
+        @Override
+        public Spliterator.OfLong trySplit() {
+            Spliterator.OfLong[] sources = { lefts, rights };
+            Spliterator.OfLong[] prefixes = AlignedSplits.trySplit(sources, ConcatSpliterator::concat);
+            lefts = sources[0];
+            rights = sources[1];
+
+            return prefixes == null ? null : new ZippingLongs(prefixes[0], prefixes[1], combiner);
+        }
+
+        @Override
+        public long estimateSize() {
+            return Math.min(lefts.estimateSize(), rights.estimateSize());
+        }
+
+        @Override
+        public int characteristics() {
+            return PrimitiveZippingSpliterator.characteristics(lefts, rights);
+        }
+    }
+
+    private static final class ZippingDoubles implements Spliterator.OfDouble {
+
+        private Spliterator.OfDouble lefts;
+        private Spliterator.OfDouble rights;
+        private final DoubleBinaryOperator combiner;
+        private double left;
+        private double right;
+        private final DoubleConsumer leftSink = l -> left = l;
+        private final DoubleConsumer rightSink = r -> right = r;
+
+        private ZippingDoubles(Spliterator.OfDouble lefts, Spliterator.OfDouble rights, DoubleBinaryOperator combiner) {
+            this.lefts = lefts;
+            this.rights = rights;
+            this.combiner = combiner;
+        }
+
+        @Override
+        public boolean tryAdvance(DoubleConsumer action) {
+            if (lefts.tryAdvance(leftSink) && rights.tryAdvance(rightSink)) {
+                action.accept(combiner.applyAsDouble(left, right));
+                return true;
+            }
+            return false;
+        }
+
+        @Override
+        public void forEachRemaining(DoubleConsumer action) {
+            long leftSize = lefts.getExactSizeIfKnown();
+            long rightSize = rights.getExactSizeIfKnown();
+            if (leftSize >= 0 && rightSize >= 0) {
+                // Both sizes are known, so the shorter side can be driven in bulk without overrunning the longer one.
+                if (leftSize <= rightSize) {
+                    lefts.forEachRemaining((double l) -> {
+                        if (rights.tryAdvance(rightSink)) {
+                            action.accept(combiner.applyAsDouble(l, right));
+                        }
+                    });
+                } else {
+                    rights.forEachRemaining((double r) -> {
+                        if (lefts.tryAdvance(leftSink)) {
+                            action.accept(combiner.applyAsDouble(left, r));
+                        }
+                    });
+                }
+                return;
+            }
+
+            while (lefts.tryAdvance(leftSink) && rights.tryAdvance(rightSink)) {
+                action.accept(combiner.applyAsDouble(left, right));
+            }
+        }
+
+        @Override
+        public Spliterator.OfDouble trySplit() {
+            Spliterator.OfDouble[] sources = { lefts, rights };
+            Spliterator.OfDouble[] prefixes = AlignedSplits.trySplit(sources, ConcatSpliterator::concat);
+            lefts = sources[0];
+            rights = sources[1];
+
+            return prefixes == null ? null : new ZippingDoubles(prefixes[0], prefixes[1], combiner);
+        }
+
+        @Override
+        public long estimateSize() {
+            return Math.min(lefts.estimateSize(), rights.estimateSize());
+        }
+
+        @Override
+        public int characteristics() {
+            return PrimitiveZippingSpliterator.characteristics(lefts, rights);
+        }
+    }
+}
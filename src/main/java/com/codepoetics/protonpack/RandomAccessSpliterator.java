@@ -0,0 +1,64 @@
+package com.codepoetics.protonpack;
+
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.function.IntFunction;
+
+class RandomAccessSpliterator<T> implements Spliterator<T> {
+
+    static <T> Spliterator<T> over(int size, IntFunction<T> elementAt, int additionalCharacteristics) {
+        return new RandomAccessSpliterator<>(0, size, elementAt, additionalCharacteristics);
+    }
+
+    private int origin;
+    private final int fence;
+    private final IntFunction<T> elementAt;
+    private final int characteristics;
+
+    private RandomAccessSpliterator(int origin, int fence, IntFunction<T> elementAt, int additionalCharacteristics) {
+        this.origin = origin;
+        this.fence = fence;
+        this.elementAt = elementAt;
+        this.characteristics = additionalCharacteristics
+                | Spliterator.ORDERED | Spliterator.SIZED | Spliterator.SUBSIZED;
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super T> action) {
+        if (origin >= fence) {
+            return false;
+        }
+        action.accept(elementAt.apply(origin++));
+        return true;
+    }
+
+    @Override
+    public void forEachRemaining(Consumer<? super T> action) {
+        int end = fence;
+        for (int i = origin; i < end; i++) {
+            action.accept(elementAt.apply(i));
+        }
+        origin = end;
+    }
+
+    @Override
+    public Spliterator<T> trySplit() {
+        int mid = (origin + fence) >>> 1;
+        if (mid <= origin) {
+            return null;
+        }
+        Spliterator<T> prefix = new RandomAccessSpliterator<>(origin, mid, elementAt, characteristics);
+        origin = mid;
+        return prefix;
+    }
+
+    @Override
+    public long estimateSize() {
+        return fence - origin;
+    }
+
+    @Override
+    public int characteristics() {
+        return characteristics;
+    }
+}
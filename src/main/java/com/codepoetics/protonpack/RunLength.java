@@ -0,0 +1,67 @@
+package com.codepoetics.protonpack;
+
+import java.util.Objects;
+
+/**
+ * A value together with the number of times it is repeated in succession.
+ *
+ * @param <T> The type of the value.
+ */
+public class RunLength<T> {
+
+    /**
+     * Combine a value and the length of its run.
+     * @param value The repeated value.
+     * @param count The number of times it is repeated.
+     * @param <T> The type of the value.
+     * @return The run.
+     */
+    public static <T> RunLength<T> run(T value, long count) {
+        return new RunLength<>(value, count);
+    }
+
+    private final T value;
+    private final long count;
+
+    private RunLength(T value, long count) {
+        this.value = value;
+        this.count = count;
+    }
+
+    /**
+     * @return The repeated value.
+     */
+    public T getValue() {
+        return value;
+    }
+
+    /**
+     * @return The number of times the value is repeated.
+     */
+    public long getCount() {
+        return count;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(value, count);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj == null || getClass() != obj.getClass()) {
+            return false;
+        }
+        final RunLength<?> other = (RunLength<?>) obj;
+        return count == other.count && Objects.equals(value, other.value);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("RunLength { value: %s, count: %d }", value, count);
+    }
+
+}
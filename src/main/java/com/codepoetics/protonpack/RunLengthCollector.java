@@ -0,0 +1,39 @@
+package com.codepoetics.protonpack;
+
+import java.util.stream.Collector;
+
+/**
+ * Collects a run of equal values into a {@link RunLength}, keeping only the first value and a count.
+ */
+final class RunLengthCollector {
+
+    private RunLengthCollector() {
+    }
+
+    private static final class Counter<T> {
+        private T value;
+        private long count = 0;
+
+        private void add(T item) {
+            if (count++ == 0) {
+                value = item;
+            }
+        }
+
+        private Counter<T> merge(Counter<T> other) {
+            if (count == 0) {
+                return other;
+            }
+            count += other.count;
+            return this;
+        }
+    }
+
+    static <T> Collector<T, ?, RunLength<T>> counting() {
+        return Collector.<T, Counter<T>, RunLength<T>>of(
+                Counter::new,
+                Counter::add,
+                Counter::merge,
+                counter -> RunLength.run(counter.value, counter.count));
+    }
+}
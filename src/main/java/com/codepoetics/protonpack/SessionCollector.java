@@ -0,0 +1,45 @@
+package com.codepoetics.protonpack;
+
+import java.util.function.ToLongFunction;
+import java.util.stream.Collector;
+
+/**
+ * Collects a session's values with a downstream collector, recording the timestamps of the first and last of them.
+ */
+final class SessionCollector {
+
+    private SessionCollector() {
+    }
+
+    private static final class Session<A> {
+        private long first = Long.MAX_VALUE;
+        private long last = Long.MIN_VALUE;
+        private final A contents;
+
+        private Session(A contents) {
+            this.contents = contents;
+        }
+
+        private void include(long timestamp) {
+            first = Math.min(first, timestamp);
+            last = Math.max(last, timestamp);
+        }
+    }
+
+    static <T, A, R> Collector<T, ?, TimeWindow<R>> collecting(ToLongFunction<? super T> timestamp, long gap,
+                                                               Collector<? super T, A, R> downstream) {
+        return Collector.<T, Session<A>, TimeWindow<R>>of(
+                () -> new Session<>(downstream.supplier().get()),
+                (session, item) -> {
+                    session.include(timestamp.applyAsLong(item));
+                    downstream.accumulator().accept(session.contents, item);
+                },
+                (left, right) -> {
+                    Session<A> combined = new Session<>(downstream.combiner().apply(left.contents, right.contents));
+                    combined.include(left.first);
+                    combined.include(right.last);
+                    return combined;
+                },
+                session -> TimeWindow.window(session.first, session.last + gap, downstream.finisher().apply(session.contents)));
+    }
+}
@@ -0,0 +1,224 @@
+package com.codepoetics.protonpack;
+
+import java.util.Spliterator;
+import java.util.function.BiFunction;
+import java.util.function.BinaryOperator;
+import java.util.function.Consumer;
+
+class SlidingReduceSpliterator<T, R> implements Spliterator<R> {
+
+    static <T> Spliterator<T> reducing(Spliterator<T> source, int windowSize, int skip, BinaryOperator<T> combiner) {
+        return new SlidingReduceSpliterator<>(source, windowSize, skip, new TwoStacks<>(windowSize, combiner));
+    }
+
+    static <T, R> Spliterator<R> reducing(Spliterator<T> source, int windowSize, int skip, R identity,
+                                          BiFunction<R, ? super T, R> accumulator,
+                                          BiFunction<R, ? super T, R> deaccumulator) {
+        return new SlidingReduceSpliterator<>(source, windowSize, skip,
+                new Invertible<>(windowSize, identity, accumulator, deaccumulator));
+    }
+
+    /**
+     * Maintains the reduction of a window of values as values are added at the newest end, and removed from the oldest.
+     */
+    private interface SlidingReduction<T, R> {
+        void add(T value);
+        void removeOldest();
+        R result();
+    }
+
+    private final Spliterator<T> source;
+    private final int windowSize;
+    private final int skip;
+    private final SlidingReduction<T, R> reduction;
+    private final Consumer<T> add = this::add;
+    private int count = 0;
+    private boolean windowSeeded = false;
+    // During bulk traversal, the number of values still to be read before the next window is complete.
+    private int toRead;
+
+    private SlidingReduceSpliterator(Spliterator<T> source, int windowSize, int skip, SlidingReduction<T, R> reduction) {
+        this.source = source;
+        this.windowSize = windowSize;
+        this.skip = skip;
+        this.reduction = reduction;
+    }
+
+    private void add(T value) {
+        reduction.add(value);
+        count++;
+    }
+
+    private boolean hasNext() {
+        if (!windowSeeded) {
+            while (count < windowSize && source.tryAdvance(add));
+            windowSeeded = true;
+        }
+        return count == windowSize;
+    }
+
+    private void nextWindow() {
+        for (int i = 0; i < skip && count == windowSize; i++) {
+            reduction.removeOldest();
+            count--;
+            source.tryAdvance(add);
+        }
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super R> action) {
+        if (!hasNext()) {
+            return false;
+        }
+        R result = reduction.result();
+        nextWindow();
+        action.accept(result);
+        return true;
+    }
+
+    @Override
+    public void forEachRemaining(Consumer<? super R> action) {
+        if (!windowSeeded) {
+            windowSeeded = true;
+            toRead = windowSize;
+        } else if (count == windowSize) {
+            action.accept(reduction.result());
+            toRead = skip;
+        } else {
+            return;
+        }
+
+        source.forEachRemaining(value -> {
+            if (count == windowSize) {
+                reduction.removeOldest();
+                count--;
+            }
+            add(value);
+            if (--toRead == 0) {
+                action.accept(reduction.result());
+                toRead = skip;
+            }
+        });
+
+        // The window following the last one handed on can no longer be completed.
+        if (count == windowSize) {
+            reduction.removeOldest();
+            count--;
+        }
+    }
+
+    @Override
+    public Spliterator<R> trySplit() {
+        return null;
+    }
+
+    @Override
+    public long estimateSize() {
+        return source.estimateSize();
+    }
+
+    @Override
+    public int characteristics() {
+        return source.characteristics()
+                & ~(Spliterator.SIZED | Spliterator.SUBSIZED | Spliterator.SORTED | Spliterator.DISTINCT | Spliterator.NONNULL);
+    }
+
+    /**
+     * Reduces with an associative combiner which cannot be undone. New values are pushed onto a back stack, keeping a
+     * running reduction of it; when the oldest value must be removed and the front stack is empty, the back stack is
+     * moved across, replacing each value with the reduction of it and every newer value. Each value is moved once,
+     * so every operation takes amortised constant time.
+     */
+    private static final class TwoStacks<T> implements SlidingReduction<T, T> {
+
+        private final BinaryOperator<T> combiner;
+        private final Object[] back;
+        private final Object[] front;
+        private int backSize = 0;
+        private int frontSize = 0;
+        private T backReduction;
+
+        private TwoStacks(int windowSize, BinaryOperator<T> combiner) {
+            this.combiner = combiner;
+            this.back = new Object[windowSize];
+            this.front = new Object[windowSize];
+        }
+
+        @Override
+        public void add(T value) {
+            backReduction = backSize == 0 ? value : combiner.apply(backReduction, value);
+            back[backSize++] = value;
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public void removeOldest() {
+            if (frontSize == 0) {
+                T suffix = null;
+                for (int i = backSize - 1; i >= 0; i--) {
+                    T value = (T) back[i];
+                    suffix = i == backSize - 1 ? value : combiner.apply(value, suffix);
+                    front[frontSize++] = suffix;
+                    back[i] = null;
+                }
+                backSize = 0;
+                backReduction = null;
+            }
+            front[--frontSize] = null;
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public T result() {
+            if (frontSize == 0) {
+                return backReduction;
+            }
+            T frontReduction = (T) front[frontSize - 1];
+            return backSize == 0 ? frontReduction : combiner.apply(frontReduction, backReduction);
+        }
+    }
+
+    /**
+     * Reduces with an accumulator that can be undone by a deaccumulator, such as a sum and its subtraction, keeping
+     * the window's values in a ring buffer so that the oldest can be removed.
+     */
+    private static final class Invertible<T, R> implements SlidingReduction<T, R> {
+
+        private final BiFunction<R, ? super T, R> accumulator;
+        private final BiFunction<R, ? super T, R> deaccumulator;
+        private final Object[] values;
+        private int head = 0;
+        private int count = 0;
+        private R reduction;
+
+        private Invertible(int windowSize, R identity, BiFunction<R, ? super T, R> accumulator, BiFunction<R, ? super T, R> deaccumulator) {
+            this.accumulator = accumulator;
+            this.deaccumulator = deaccumulator;
+            this.values = new Object[windowSize];
+            this.reduction = identity;
+        }
+
+        @Override
+        public void add(T value) {
+            int tail = head + count;
+            values[tail < values.length ? tail : tail - values.length] = value;
+            count++;
+            reduction = accumulator.apply(reduction, value);
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public void removeOldest() {
+            T oldest = (T) values[head];
+            values[head] = null;
+            head = head + 1 < values.length ? head + 1 : 0;
+            count--;
+            reduction = deaccumulator.apply(reduction, oldest);
+        }
+
+        @Override
+        public R result() {
+            return reduction;
+        }
+    }
+}
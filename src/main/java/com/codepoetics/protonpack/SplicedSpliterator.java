@@ -0,0 +1,94 @@
+package com.codepoetics.protonpack;
+
+import java.util.Comparator;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+/**
+ * Streams a few buffered values before and after a source spliterator, while still letting the source be split.
+ * Used to hand the halves of a split the elements either side of the boundary that they share.
+ */
+class SplicedSpliterator<T> implements Spliterator<T> {
+
+    private static final Object[] NONE = new Object[0];
+
+    static <T> Spliterator<T> before(Object[] head, Spliterator<T> middle) {
+        return new SplicedSpliterator<>(head, middle, NONE);
+    }
+
+    static <T> Spliterator<T> after(Spliterator<T> middle, Object[] tail) {
+        return new SplicedSpliterator<>(NONE, middle, tail);
+    }
+
+    private final Object[] head;
+    private int headIndex = 0;
+    private final Spliterator<T> middle;
+    private final Object[] tail;
+    private int tailIndex = 0;
+
+    private SplicedSpliterator(Object[] head, Spliterator<T> middle, Object[] tail) {
+        this.head = head;
+        this.middle = middle;
+        this.tail = tail;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public boolean tryAdvance(Consumer<? super T> action) {
+        if (headIndex < head.length) {
+            action.accept((T) head[headIndex++]);
+            return true;
+        }
+        if (middle.tryAdvance(action)) {
+            return true;
+        }
+        if (tailIndex < tail.length) {
+            action.accept((T) tail[tailIndex++]);
+            return true;
+        }
+        return false;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public void forEachRemaining(Consumer<? super T> action) {
+        while (headIndex < head.length) {
+            action.accept((T) head[headIndex++]);
+        }
+        middle.forEachRemaining(action);
+        while (tailIndex < tail.length) {
+            action.accept((T) tail[tailIndex++]);
+        }
+    }
+
+    /**
+     * Splits the middle, keeping any unread head values with the prefix and the tail values with the rest.
+     */
+    @Override
+    public Spliterator<T> trySplit() {
+        Spliterator<T> prefix = middle.trySplit();
+        if (prefix == null || headIndex == head.length) {
+            return prefix;
+        }
+        Object[] unread = new Object[head.length - headIndex];
+        System.arraycopy(head, headIndex, unread, 0, unread.length);
+        headIndex = head.length;
+        return before(unread, prefix);
+    }
+
+    @Override
+    public long estimateSize() {
+        long size = middle.estimateSize() + (head.length - headIndex) + (tail.length - tailIndex);
+        return size < 0 ? Long.MAX_VALUE : size;
+    }
+
+    @Override
+    public int characteristics() {
+        return middle.characteristics();
+    }
+
+    @Override
+    public Comparator<? super T> getComparator() {
+        return middle.getComparator();
+    }
+}
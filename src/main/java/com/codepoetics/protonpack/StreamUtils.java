@@ -1,8 +1,20 @@
 package com.codepoetics.protonpack;
 
+import com.codepoetics.protonpack.functions.DoubleSliceFunction;
+import com.codepoetics.protonpack.functions.IndexedConsumer;
+import com.codepoetics.protonpack.functions.IndexedDoubleConsumer;
+import com.codepoetics.protonpack.functions.IndexedDoubleFunction;
+import com.codepoetics.protonpack.functions.IndexedFunction;
+import com.codepoetics.protonpack.functions.IndexedIntConsumer;
+import com.codepoetics.protonpack.functions.IndexedIntFunction;
+import com.codepoetics.protonpack.functions.IndexedLongConsumer;
+import com.codepoetics.protonpack.functions.IndexedLongFunction;
+import com.codepoetics.protonpack.functions.IntSliceFunction;
+import com.codepoetics.protonpack.functions.LongSliceFunction;
 import com.codepoetics.protonpack.functions.TriFunction;
 
 import java.util.*;
+import java.util.concurrent.Executor;
 import java.util.function.*;
 import java.util.stream.*;
 
@@ -15,14 +27,14 @@ public final class StreamUtils {
 
     }
 
-    private static Runnable closerFor(Stream...streams) {
+    private static Runnable closerFor(BaseStream<?, ?>...streams) {
       return closerFor(Arrays.asList(streams));
     }
 
-    private static <T> Runnable closerFor(List<Stream<T>> streams) {
+    private static Runnable closerFor(List<? extends BaseStream<?, ?>> streams) {
         return () -> {
             List<Exception> exceptions = new LinkedList<>();
-            for (Stream<T> stream : streams) {
+            for (BaseStream<?, ?> stream : streams) {
                 try {
                     stream.close();
                 } catch (Exception e) {
@@ -38,29 +50,148 @@ public final class StreamUtils {
         };
     }
 
+    private static boolean isParallel(BaseStream<?, ?>...streams) {
+        return isParallel(Arrays.asList(streams));
+    }
+
+    private static boolean isParallel(List<? extends BaseStream<?, ?>> streams) {
+        for (BaseStream<?, ?> stream : streams) {
+            if (stream.isParallel()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     /**
      * Constructs an infinite (although in practice bounded by Long.MAX_VALUE) stream of longs 0, 1, 2, 3...
      * for use as indices.
+     *
+     * The stream is SIZED and splits in constant time, so parallel pipelines that start from it (typically after a
+     * {@link LongStream#limit(long)}) can use every core.
      * @return A stream of longs.
      */
     public static LongStream indices() {
-        return LongStream.iterate(0L, l -> l + 1);
+        return LongStream.range(0L, Long.MAX_VALUE);
     }
 
     /**
      * Zip the source stream together with the stream of indices() to provide a stream of indexed values.
+     *
+     * The indexed stream is parallel if the source stream is, and splits whenever the source is SUBSIZED.
      * @param source  The source stream.
      * @param <T> The type over which the source stream streams.
      * @return A stream of indexed values.
      */
     public static <T> Stream<Indexed<T>> zipWithIndex(Stream<T> source) {
-        return zip(indices().mapToObj(Long::valueOf), source, Indexed::index)
+        return mapWithIndex(source, Indexed::index);
+    }
+
+    /**
+     * Map each value in the source stream together with its index, without creating an {@link Indexed} for each value.
+     *
+     * The mapped stream is parallel if the source stream is, and splits whenever the source is SUBSIZED.
+     * @param source The source stream.
+     * @param mapper The function to apply to each index and value.
+     * @param <T> The type over which the source stream streams.
+     * @param <R> The type of the mapped values.
+     * @return A stream of mapped values.
+     */
+    public static <T, R> Stream<R> mapWithIndex(Stream<T> source, IndexedFunction<? super T, ? extends R> mapper) {
+        return StreamSupport.stream(IndexingSpliterator.<T, R>indexing(source.spliterator(), mapper), source.isParallel())
+                .onClose(source::close);
+    }
+
+    /**
+     * Map each value in the source int stream together with its index.
+     *
+     * The mapped stream is parallel if the source stream is, and splits whenever the source is SUBSIZED.
+     * @param source The source stream.
+     * @param mapper The function to apply to each index and value.
+     * @param <R> The type of the mapped values.
+     * @return A stream of mapped values.
+     */
+    public static <R> Stream<R> mapWithIndex(IntStream source, IndexedIntFunction<? extends R> mapper) {
+        return StreamSupport.stream(IndexingSpliterator.<R>indexing(source.spliterator(), mapper), source.isParallel())
+                .onClose(source::close);
+    }
+
+    /**
+     * Map each value in the source long stream together with its index.
+     *
+     * The mapped stream is parallel if the source stream is, and splits whenever the source is SUBSIZED.
+     * @param source The source stream.
+     * @param mapper The function to apply to each index and value.
+     * @param <R> The type of the mapped values.
+     * @return A stream of mapped values.
+     */
+    public static <R> Stream<R> mapWithIndex(LongStream source, IndexedLongFunction<? extends R> mapper) {
+        return StreamSupport.stream(IndexingSpliterator.<R>indexing(source.spliterator(), mapper), source.isParallel())
+                .onClose(source::close);
+    }
+
+    /**
+     * Map each value in the source double stream together with its index.
+     *
+     * The mapped stream is parallel if the source stream is, and splits whenever the source is SUBSIZED.
+     * @param source The source stream.
+     * @param mapper The function to apply to each index and value.
+     * @param <R> The type of the mapped values.
+     * @return A stream of mapped values.
+     */
+    public static <R> Stream<R> mapWithIndex(DoubleStream source, IndexedDoubleFunction<? extends R> mapper) {
+        return StreamSupport.stream(IndexingSpliterator.<R>indexing(source.spliterator(), mapper), source.isParallel())
                 .onClose(source::close);
     }
 
+    /**
+     * Perform an action on each value in the source stream together with its index, in encounter order, without
+     * creating an {@link Indexed} for each value.
+     * @param source The source stream.
+     * @param action The action to perform on each index and value.
+     * @param <T> The type over which the source stream streams.
+     */
+    public static <T> void forEachWithIndex(Stream<T> source, IndexedConsumer<? super T> action) {
+        long[] index = { 0L };
+        source.forEachOrdered(value -> action.accept(index[0]++, value));
+    }
+
+    /**
+     * Perform an action on each value in the source int stream together with its index, in encounter order.
+     * @param source The source stream.
+     * @param action The action to perform on each index and value.
+     */
+    public static void forEachWithIndex(IntStream source, IndexedIntConsumer action) {
+        long[] index = { 0L };
+        source.forEachOrdered(value -> action.accept(index[0]++, value));
+    }
+
+    /**
+     * Perform an action on each value in the source long stream together with its index, in encounter order.
+     * @param source The source stream.
+     * @param action The action to perform on each index and value.
+     */
+    public static void forEachWithIndex(LongStream source, IndexedLongConsumer action) {
+        long[] index = { 0L };
+        source.forEachOrdered(value -> action.accept(index[0]++, value));
+    }
+
+    /**
+     * Perform an action on each value in the source double stream together with its index, in encounter order.
+     * @param source The source stream.
+     * @param action The action to perform on each index and value.
+     */
+    public static void forEachWithIndex(DoubleStream source, IndexedDoubleConsumer action) {
+        long[] index = { 0L };
+        source.forEachOrdered(value -> action.accept(index[0]++, value));
+    }
+
     /**
      * Zip together the "left" and "right" streams until either runs out of values.
      * Each pair of values is combined into a single value using the supplied combiner function.
+     *
+     * The zipped stream is parallel if either source stream is. It splits for parallel execution when both sources
+     * are SUBSIZED and split at the same index (for example, two array-backed lists of the same length).
      * @param lefts The "left" stream to zip.
      * @param rights The "right" stream to zip.
      * @param combiner The function to combine "left" and "right" values.
@@ -71,13 +202,81 @@ public final class StreamUtils {
      * @return A stream of zipped values.
      */
     public static <L, R, O> Stream<O> zip(Stream<L> lefts, Stream<R> rights, BiFunction<L, R, O> combiner) {
-        return StreamSupport.stream(ZippingSpliterator.zipping(lefts.spliterator(), rights.spliterator(), combiner), false)
+        return StreamSupport.stream(ZippingSpliterator.zipping(lefts.spliterator(), rights.spliterator(), combiner),
+                isParallel(lefts, rights))
+                .onClose(closerFor(lefts, rights));
+    }
+
+    /**
+     * Zip together the "left" and "right" lists until either runs out of values, combining each pair of values
+     * with the supplied combiner.
+     *
+     * If both lists are {@link RandomAccess} (for example, array-backed lists, or arrays wrapped with
+     * {@link Arrays#asList(Object[])}) the zipped stream reads values by index, is exactly SIZED, and splits in
+     * constant time. Otherwise this is equivalent to zipping the lists' streams.
+     * @param lefts The "left" list to zip.
+     * @param rights The "right" list to zip.
+     * @param combiner The function to combine "left" and "right" values.
+     * @param <L> The type of the "left" values.
+     * @param <R> The type of the "right" values.
+     * @param <O> The type created by the combiner out of pairs of "left" and "right" values.
+     * @return A stream of zipped values.
+     */
+    public static <L, R, O> Stream<O> zip(List<L> lefts, List<R> rights, BiFunction<L, R, O> combiner) {
+        if (!(lefts instanceof RandomAccess && rights instanceof RandomAccess)) {
+            return zip(lefts.stream(), rights.stream(), combiner);
+        }
+        return StreamSupport.stream(RandomAccessSpliterator.over(
+                Math.min(lefts.size(), rights.size()),
+                i -> combiner.apply(lefts.get(i), rights.get(i)),
+                0), false);
+    }
+
+    /**
+     * Zip together the "left" and "right" streams until either runs out of values, reading each source ahead of the
+     * consumer on the supplied executor.
+     *
+     * Each source is read by tasks on the executor into its own buffer holding at most {@code prefetch} values, and
+     * pairs are combined on the consuming thread, so the latency of slow sources (such as two database cursors)
+     * overlaps rather than adds up. Reading starts when the first pair is requested. The zipped stream is sequential.
+     *
+     * A task runs only while its buffer has room, so no thread is held once the buffers are full: a terminal operation
+     * which stops early (as findFirst or limit do) leaves at most {@code prefetch} values read ahead from each source.
+     * Reading ahead stops as soon as either source runs out. Closing the zipped stream stops reading ahead, waits for
+     * any read in progress to finish, and then closes both source streams. Exceptions thrown by either source are
+     * rethrown on the consuming thread.
+     * @param lefts The "left" stream to zip.
+     * @param rights The "right" stream to zip.
+     * @param combiner The function to combine "left" and "right" values.
+     * @param prefetch The maximum number of values to read ahead from each source.
+     * @param executor The executor on which to drain the sources.
+     * @param <L> The type over which the "left" stream streams.
+     * @param <R> The type over which the "right" stream streams.
+     * @param <O> The type created by the combiner out of pairs of "left" and "right" values, over which the resulting
+     *           stream streams.
+     * @return A stream of zipped values.
+     */
+    public static <L, R, O> Stream<O> zipAsync(Stream<L> lefts, Stream<R> rights, BiFunction<L, R, O> combiner,
+                                               int prefetch, Executor executor) {
+        if (prefetch <= 0) throw new IllegalArgumentException("Positive prefetch expected, was: " + prefetch);
+        PrefetchingSpliterator<L> prefetchedLefts = PrefetchingSpliterator.prefetching(lefts.spliterator(), prefetch, executor);
+        PrefetchingSpliterator<R> prefetchedRights = PrefetchingSpliterator.prefetching(rights.spliterator(), prefetch, executor);
+        Spliterator<O> zipped = PrefetchingSpliterator.cancellingWhenExhausted(
+                ZippingSpliterator.zipping(prefetchedLefts, prefetchedRights, combiner),
+                prefetchedLefts, prefetchedRights);
+
+        return StreamSupport.stream(zipped, false)
+                .onClose(prefetchedLefts::close)
+                .onClose(prefetchedRights::close)
                 .onClose(closerFor(lefts, rights));
     }
 
     /**
      * Zip together the "left", "middle" and "right" streams until any stream runs out of values.
      * Each triple of values is combined into a single value using the supplied combiner function.
+     *
+     * The zipped stream is parallel if any source stream is, and splits when all three sources are SUBSIZED and split
+     * at the same index.
      * @param lefts The "left" stream to zip.
      * @param middles The "middle" stream to zip.
      * @param rights The "right" stream to zip.
@@ -94,13 +293,16 @@ public final class StreamUtils {
                 lefts.spliterator(),
                 middles.spliterator(),
                 rights.spliterator(),
-                combiner), false)
+                combiner), isParallel(lefts, middles, rights))
                 .onClose(closerFor(lefts, middles, rights));
     }
 
     /**
      * Zip together a list of streams until one of them runs out of values.
      * Each tuple of values is combined into a single value using the supplied combiner function.
+     *
+     * The zipped stream is parallel if any source stream is, and splits when all sources are SUBSIZED and split
+     * at the same index.
      * @param streams The streams to zip.
      * @param combiner The function to combine the values.
      * @param <T> The type over which the streams stream.
@@ -110,10 +312,80 @@ public final class StreamUtils {
      */
     public static <T, O> Stream<O> zip(List<Stream<T>> streams, Function<List<T>, O> combiner) {
         List<Spliterator<T>> spliterators = streams.stream().map(Stream::spliterator).collect(Collectors.toList());
-        return StreamSupport.stream(ListZippingSpliterator.zipping(spliterators, combiner), false)
+        return StreamSupport.stream(ListZippingSpliterator.zipping(spliterators, combiner), isParallel(streams))
+                .onClose(closerFor(streams));
+    }
+
+    /**
+     * Zip together a list of streams until one of them runs out of values, as {@link #zip(List, Function)} does, but
+     * without allocating a list for each tuple of values.
+     *
+     * The combiner is passed a read-only view of a buffer which is reused for every tuple, and is only valid for the
+     * duration of the call: it must not keep a reference to the list, or return it.
+     * @param streams The streams to zip.
+     * @param combiner The function to combine the values.
+     * @param <T> The type over which the streams stream.
+     * @param <O> The type created by the combiner out of groups of values, over
+     * which the resulting stream streams.
+     * @return A stream of zipped values.
+     */
+    public static <T, O> Stream<O> zipWithRowView(List<Stream<T>> streams, Function<List<T>, O> combiner) {
+        List<Spliterator<T>> spliterators = streams.stream().map(Stream::spliterator).collect(Collectors.toList());
+        return StreamSupport.stream(ListZippingSpliterator.zippingWithRowView(spliterators, combiner), isParallel(streams))
                 .onClose(closerFor(streams));
     }
 
+    /**
+     * Zip together the "left" and "right" int streams until either runs out of values, combining each pair of values
+     * with the supplied combiner. Unlike {@link #zip(Stream, Stream, BiFunction)}, no values are boxed.
+     *
+     * The zipped stream is parallel if either source stream is, and splits when both sources are SUBSIZED and split
+     * at the same index.
+     * @param lefts The "left" stream to zip.
+     * @param rights The "right" stream to zip.
+     * @param combiner The function to combine "left" and "right" values.
+     * @return A stream of zipped values.
+     */
+    public static IntStream zipInts(IntStream lefts, IntStream rights, IntBinaryOperator combiner) {
+        return StreamSupport.intStream(PrimitiveZippingSpliterator.zipping(lefts.spliterator(), rights.spliterator(), combiner),
+                isParallel(lefts, rights))
+                .onClose(closerFor(lefts, rights));
+    }
+
+    /**
+     * Zip together the "left" and "right" long streams until either runs out of values, combining each pair of values
+     * with the supplied combiner. Unlike {@link #zip(Stream, Stream, BiFunction)}, no values are boxed.
+     *
+     * The zipped stream is parallel if either source stream is, and splits when both sources are SUBSIZED and split
+     * at the same index.
+     * @param lefts The "left" stream to zip.
+     * @param rights The "right" stream to zip.
+     * @param combiner The function to combine "left" and "right" values.
+     * @return A stream of zipped values.
+     */
+    public static LongStream zipLongs(LongStream lefts, LongStream rights, LongBinaryOperator combiner) {
+        return StreamSupport.longStream(PrimitiveZippingSpliterator.zipping(lefts.spliterator(), rights.spliterator(), combiner),
+                isParallel(lefts, rights))
+                .onClose(closerFor(lefts, rights));
+    }
+
+    /**
+     * Zip together the "left" and "right" double streams until either runs out of values, combining each pair of values
+     * with the supplied combiner. Unlike {@link #zip(Stream, Stream, BiFunction)}, no values are boxed.
+     *
+     * The zipped stream is parallel if either source stream is, and splits when both sources are SUBSIZED and split
+     * at the same index.
+     * @param lefts The "left" stream to zip.
+     * @param rights The "right" stream to zip.
+     * @param combiner The function to combine "left" and "right" values.
+     * @return A stream of zipped values.
+     */
+    public static DoubleStream zipDoubles(DoubleStream lefts, DoubleStream rights, DoubleBinaryOperator combiner) {
+        return StreamSupport.doubleStream(PrimitiveZippingSpliterator.zipping(lefts.spliterator(), rights.spliterator(), combiner),
+                isParallel(lefts, rights))
+                .onClose(closerFor(lefts, rights));
+    }
+
     private static boolean isSized(int characteristics) {
         return (characteristics & Spliterator.SIZED) != 0;
     }
@@ -121,14 +393,19 @@ public final class StreamUtils {
     /**
      * Construct a stream which takes values from the source stream for as long as they meet the supplied condition, and stops
      * as soon as a value is encountered which does not meet the condition.
+     *
+     * If the source stream is parallel and SUBSIZED, chunks of it are tested concurrently and buffered, and chunks to
+     * the right of the first value which does not meet the condition are abandoned; the condition must then be safe
+     * to call from several threads. The result is a parallel stream in the source's encounter order.
      * @param source The source stream.
      * @param condition The condition to apply to elements of the source stream.
      * @param <T> The type over which the stream streams.
      * @return A condition-bounded stream.
      */
     public static <T> Stream<T> takeWhile(Stream<T> source, Predicate<T> condition) {
-        return StreamSupport.stream(TakeWhileSpliterator.over(source.spliterator(), condition), false)
-                .onClose(source::close);
+        return cut(source,
+                spliterator -> TakeWhileSpliterator.over(spliterator, condition),
+                spliterator -> ParallelCut.takingWhile(spliterator, condition, false));
     }
 
     /**
@@ -140,8 +417,9 @@ public final class StreamUtils {
      * @return A condition-bounded stream.
      */
     public static <T> Stream<T> takeWhileInclusive(Stream<T> source, Predicate<T> condition) {
-        return StreamSupport.stream(TakeWhileSpliterator.overInclusive(source.spliterator(), condition), false)
-                .onClose(source::close);
+        return cut(source,
+                spliterator -> TakeWhileSpliterator.overInclusive(spliterator, condition),
+                spliterator -> ParallelCut.takingWhile(spliterator, condition, true));
     }
 
     /**
@@ -177,8 +455,7 @@ public final class StreamUtils {
      * @return An element-skipping stream.
      */
     public static <T> Stream<T> skipWhile(Stream<T> source, Predicate<T> condition) {
-        return StreamSupport.stream(SkipUntilSpliterator.over(source.spliterator(), condition.negate()), false)
-                .onClose(source::close);
+        return skipUntil(source, condition.negate());
     }
 
     /**
@@ -190,21 +467,25 @@ public final class StreamUtils {
      * @return An element-skipping stream.
      */
     public static <T> Stream<T> skipWhileInclusive(Stream<T> source, Predicate<T> condition) {
-        return StreamSupport.stream(SkipUntilSpliterator.overInclusive(source.spliterator(), condition.negate()), false)
-                .onClose(source::close);
+        return skipUntilInclusive(source, condition.negate());
     }
 
     /**
      * Construct a stream which skips values from the source stream for as long as they do not meet the supplied condition,
      * then streams every remaining value as soon as the first value is found which does meet the condition.
+     *
+     * If the source stream is parallel and SUBSIZED, chunks of it are searched concurrently for the first value which
+     * meets the condition, and the values after it are buffered; the condition must then be safe to call from several
+     * threads. The result is a parallel stream in the source's encounter order.
      * @param source The source stream.
      * @param condition The condition to apply to elements of the source stream.
      * @param <T> The type over which the stream streams.
      * @return An element-skipping stream.
      */
     public static <T> Stream<T> skipUntil(Stream<T> source, Predicate<T> condition) {
-        return StreamSupport.stream(SkipUntilSpliterator.over(source.spliterator(), condition), false)
-                .onClose(source::close);
+        return cut(source,
+                spliterator -> SkipUntilSpliterator.over(spliterator, condition),
+                spliterator -> ParallelCut.skippingUntil(spliterator, condition, false));
     }
 
     /**
@@ -216,8 +497,105 @@ public final class StreamUtils {
      * @return An element-skipping stream.
      */
     public static <T> Stream<T> skipUntilInclusive(Stream<T> source, Predicate<T> condition) {
-        return StreamSupport.stream(SkipUntilSpliterator.overInclusive(source.spliterator(), condition), false)
-                .onClose(source::close);
+        return cut(source,
+                spliterator -> SkipUntilSpliterator.overInclusive(spliterator, condition),
+                spliterator -> ParallelCut.skippingUntil(spliterator, condition, true));
+    }
+
+    /**
+     * Construct a stream which skips values from a sorted list for as long as they do not meet the supplied condition,
+     * then streams every remaining value. The condition must be monotone over the list: once it holds for one value,
+     * it holds for every later value.
+     *
+     * If the list is {@link RandomAccess}, the first value meeting the condition is found by binary search, and the
+     * stream is over a {@link List#subList(int, int)} view of the rest of the list. Otherwise this is equivalent to
+     * {@link #skipUntil(Stream, Predicate)} over the list's stream.
+     * @param source The sorted source list.
+     * @param condition The monotone condition to apply to elements of the source list.
+     * @param <T> The type over which the stream streams.
+     * @return An element-skipping stream.
+     */
+    public static <T> Stream<T> skipUntilSorted(List<T> source, Predicate<T> condition) {
+        if (!(source instanceof RandomAccess)) {
+            return skipUntil(source.stream(), condition);
+        }
+        return source.subList(firstIndexWhere(source, condition), source.size()).stream();
+    }
+
+    /**
+     * Construct a stream which skips values from a list sorted by the supplied comparator for as long as they are
+     * less than the given key, then streams every remaining value.
+     *
+     * If the list is {@link RandomAccess}, the first value not less than the key is found by binary search.
+     * Otherwise the list's stream is scanned.
+     * @param source The sorted source list.
+     * @param key The key to skip up to.
+     * @param comparator The comparator by which the list is sorted.
+     * @param <T> The type over which the stream streams.
+     * @return An element-skipping stream.
+     */
+    public static <T> Stream<T> skipUntilSorted(List<T> source, T key, Comparator<? super T> comparator) {
+        return skipUntilSorted(source, value -> comparator.compare(value, key) >= 0);
+    }
+
+    /**
+     * Construct a stream which takes values from a sorted list for as long as they meet the supplied condition, and
+     * stops as soon as a value is encountered which does not meet the condition. The condition must be monotone over
+     * the list: once it fails for one value, it fails for every later value.
+     *
+     * If the list is {@link RandomAccess}, the first value failing the condition is found by binary search, and the
+     * stream is over a {@link List#subList(int, int)} view of the list up to that value. Otherwise this is
+     * equivalent to {@link #takeWhile(Stream, Predicate)} over the list's stream.
+     * @param source The sorted source list.
+     * @param condition The monotone condition to apply to elements of the source list.
+     * @param <T> The type over which the stream streams.
+     * @return A condition-bounded stream.
+     */
+    public static <T> Stream<T> takeWhileSorted(List<T> source, Predicate<T> condition) {
+        if (!(source instanceof RandomAccess)) {
+            return takeWhile(source.stream(), condition);
+        }
+        return source.subList(0, firstIndexWhere(source, condition.negate())).stream();
+    }
+
+    /**
+     * Construct a stream which takes values from a list sorted by the supplied comparator for as long as they are
+     * less than the given key.
+     *
+     * If the list is {@link RandomAccess}, the first value not less than the key is found by binary search.
+     * Otherwise the list's stream is scanned.
+     * @param source The sorted source list.
+     * @param key The key to take values up to (exclusive).
+     * @param comparator The comparator by which the list is sorted.
+     * @param <T> The type over which the stream streams.
+     * @return A condition-bounded stream.
+     */
+    public static <T> Stream<T> takeWhileSorted(List<T> source, T key, Comparator<? super T> comparator) {
+        return takeWhileSorted(source, value -> comparator.compare(value, key) < 0);
+    }
+
+    private static <T> int firstIndexWhere(List<T> source, Predicate<T> condition) {
+        int low = 0;
+        int high = source.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (condition.test(source.get(mid))) {
+                high = mid;
+            } else {
+                low = mid + 1;
+            }
+        }
+        return low;
+    }
+
+    private static <T> Stream<T> cut(Stream<T> source,
+                                     Function<Spliterator<T>, Spliterator<T>> sequentialCut,
+                                     Function<Spliterator<T>, Spliterator<T>> parallelCut) {
+        Spliterator<T> spliterator = source.spliterator();
+        Stream<T> cut = source.isParallel() && spliterator.hasCharacteristics(Spliterator.SUBSIZED)
+                ? StreamSupport.stream(() -> parallelCut.apply(spliterator), ParallelCut.CHARACTERISTICS, true)
+                : StreamSupport.stream(sequentialCut.apply(spliterator), false);
+        return cut.onClose(source::close);
     }
 
     /**
@@ -233,6 +611,98 @@ public final class StreamUtils {
         return StreamSupport.stream(UnfoldSpliterator.over(seed, generator), false);
     }
 
+    /**
+     * Construct a stream which takes the seed value and applies the generator to create the next value, feeding each
+     * new value back into the generator to create subsequent values. If the generator returns null, then the stream
+     * has no more values; if the seed is null, the stream is empty.
+     *
+     * Unlike {@link #unfold(Object, Function)}, no Optional is allocated for each value.
+     * @param seed The seed value.
+     * @param generator The generator to use to create new values, returning null to end the stream.
+     * @param <T> The type over which the stream streams.
+     * @return An unfolding stream.
+     */
+    public static <T> Stream<T> unfoldNullable(T seed, UnaryOperator<T> generator) {
+        return StreamSupport.stream(UnfoldSpliterator.overNullable(seed, generator), false);
+    }
+
+    /**
+     * Construct a stream of ints which starts with the seed value and applies the step function to each value to
+     * create the next, for as long as the values meet the supplied condition.
+     * @param seed The seed value.
+     * @param step The function to apply to each value to create the next.
+     * @param condition The condition each streamed value must meet; the stream ends at the first value which does not.
+     * @return An unfolding stream of ints.
+     */
+    public static IntStream unfoldInt(int seed, IntUnaryOperator step, IntPredicate condition) {
+        return StreamSupport.intStream(PrimitiveUnfoldSpliterator.unfoldingInts(seed, step, condition), false);
+    }
+
+    /**
+     * Construct a stream of longs which starts with the seed value and applies the step function to each value to
+     * create the next, for as long as the values meet the supplied condition.
+     * @param seed The seed value.
+     * @param step The function to apply to each value to create the next.
+     * @param condition The condition each streamed value must meet; the stream ends at the first value which does not.
+     * @return An unfolding stream of longs.
+     */
+    public static LongStream unfoldLong(long seed, LongUnaryOperator step, LongPredicate condition) {
+        return StreamSupport.longStream(PrimitiveUnfoldSpliterator.unfoldingLongs(seed, step, condition), false);
+    }
+
+    /**
+     * Construct a stream of doubles which starts with the seed value and applies the step function to each value to
+     * create the next, for as long as the values meet the supplied condition.
+     * @param seed The seed value.
+     * @param step The function to apply to each value to create the next.
+     * @param condition The condition each streamed value must meet; the stream ends at the first value which does not.
+     * @return An unfolding stream of doubles.
+     */
+    public static DoubleStream unfoldDouble(double seed, DoubleUnaryOperator step, DoublePredicate condition) {
+        return StreamSupport.doubleStream(PrimitiveUnfoldSpliterator.unfoldingDoubles(seed, step, condition), false);
+    }
+
+    /**
+     * Construct an infinite (although in practice bounded by Long.MAX_VALUE) stream which starts with the seed value
+     * and applies the step function to each value to create the next. The jump function must give the same result
+     * as applying the step function n times, {@code jump(state, n)}, but cheaply: counters, seekable random number
+     * generators and offset-based page fetches can all jump directly.
+     *
+     * The stream is SIZED and splits in half in constant time: the jump is made only when the split-off part is
+     * traversed, so parallel pipelines (typically after a {@link Stream#limit(long)}) need no precomputed seeds.
+     * @param seed The seed value.
+     * @param step The function to apply to each value to create the next.
+     * @param jump The function giving the value n steps on from a given value.
+     * @param <T> The type over which the stream streams.
+     * @return An unfolding stream.
+     */
+    public static <T> Stream<T> unfold(T seed, UnaryOperator<T> step, BiFunction<T, Long, T> jump) {
+        return StreamSupport.stream(JumpingUnfoldSpliterator.over(seed, step, jump), false);
+    }
+
+    /**
+     * Construct a stream which unfolds the seed value as {@link #unfold(Object, Function)} does, but runs the generator
+     * ahead of the consumer on the supplied executor, buffering up to {@code depth} values. This lets a blocking
+     * generator, such as one fetching the next page of a cursor-paginated store, overlap its latency with the
+     * processing of earlier values.
+     *
+     * The generator starts when the terminal operation begins, and runs only while the buffer has room, so a terminal
+     * operation which stops early leaves at most {@code depth} values generated ahead and no thread held. Closing the
+     * stream stops generation, waiting for a call to the generator in progress to finish. Exceptions thrown by the
+     * generator are rethrown on the consuming thread.
+     * @param seed The seed value.
+     * @param generator The generator to use to create new values.
+     * @param depth The maximum number of values to generate ahead of the consumer.
+     * @param executor The executor on which to run the generator.
+     * @param <T> The type over which the stream streams.
+     * @return An unfolding stream.
+     */
+    public static <T> Stream<T> unfoldAsync(T seed, Function<T, Optional<T>> generator, int depth, Executor executor) {
+        if (depth <= 0) throw new IllegalArgumentException("Positive depth expected, was: " + depth);
+        PrefetchingSpliterator<T> unfolded = PrefetchingSpliterator.prefetching(UnfoldSpliterator.over(seed, generator), depth, executor);
+        return StreamSupport.stream(unfolded, false).onClose(unfolded::close);
+    }
+
     /**
      * Constructs a stream that is a windowed view of the source stream of the size window size
      * with a default overlap of one item
@@ -289,10 +759,348 @@ public final class StreamUtils {
      * @return A stream of lists representing the windows
      */
     public static <T> Stream<List<T>> windowed(Stream<T> source, int windowSize, int skip, boolean allowLesserSize){
-        return StreamSupport.stream(WindowedSpliterator.over(source.spliterator(), windowSize, skip, allowLesserSize), false)
+        return StreamSupport.stream(WindowedSpliterator.over(source.spliterator(), windowSize, skip, allowLesserSize),
+                source.isParallel())
                 .onClose(source::close);
     }
 
+    /**
+     * Constructs a stream of sliding windows over the source stream, as {@link #windowed(Stream, int)} does, but
+     * without copying: every element of the stream is the same read-only list, showing the current window. Each
+     * window is only valid until the next one is requested, so it must be consumed (for example, summed or mapped to
+     * a new value) rather than collected.
+     *
+     * @param source The source stream
+     * @param windowSize The window size
+     * @param <T> The type over which to stream
+     * @return A stream of read-only views of each window
+     */
+    public static <T> Stream<List<T>> windowedView(Stream<T> source, int windowSize) {
+        return windowedView(source, windowSize, 1);
+    }
+
+    /**
+     * Constructs a stream of windows over the source stream, as {@link #windowed(Stream, int, int)} does, but without
+     * copying: every element of the stream is the same read-only list, showing the current window. Each window is
+     * only valid until the next one is requested, so it must be consumed rather than collected.
+     *
+     * @param source The source stream
+     * @param windowSize The window size
+     * @param skip The skip amount between windows
+     * @param <T> The type over which to stream
+     * @return A stream of read-only views of each window
+     */
+    public static <T> Stream<List<T>> windowedView(Stream<T> source, int windowSize, int skip) {
+        if (windowSize <= 0) throw new IllegalArgumentException("Positive window size expected, was: " + windowSize);
+        if (skip <= 0) throw new IllegalArgumentException("Positive skip expected, was: " + skip);
+        return StreamSupport.stream(WindowedSpliterator.viewing(source.spliterator(), windowSize, skip), false)
+                .onClose(source::close);
+    }
+
+    /**
+     * Constructs a stream of the reductions of each window of the source stream, where windows are taken as by
+     * {@link #windowed(Stream, int, int)}. The combiner must be associative, but need not be commutative or have an
+     * inverse: min, max and string concatenation are all suitable.
+     *
+     * Each window's reduction is maintained incrementally with a pair of stacks, so each source value is combined a
+     * constant number of times (amortised) however large the window.
+     *
+     * @param source The source stream
+     * @param windowSize The window size
+     * @param skip The skip amount between windows
+     * @param combiner The associative function combining two values into one
+     * @param <T> The type over which to stream
+     * @return A stream of the reduction of each window
+     */
+    public static <T> Stream<T> windowedReduce(Stream<T> source, int windowSize, int skip, BinaryOperator<T> combiner) {
+        if (windowSize <= 0) throw new IllegalArgumentException("Positive window size expected, was: " + windowSize);
+        if (skip <= 0) throw new IllegalArgumentException("Positive skip expected, was: " + skip);
+        return StreamSupport.stream(SlidingReduceSpliterator.reducing(source.spliterator(), windowSize, skip, combiner), false)
+                .onClose(source::close);
+    }
+
+    /**
+     * Constructs a stream of the reductions of each window of the source stream, where windows are taken as by
+     * {@link #windowed(Stream, int, int)}, for reductions which can be undone: for example, a sum (undone by
+     * subtraction) or a count.
+     *
+     * Each value is accumulated into the running reduction once as it enters the window, and deaccumulated once as it
+     * leaves, so each window costs constant time however large it is.
+     *
+     * @param source The source stream
+     * @param windowSize The window size
+     * @param skip The skip amount between windows
+     * @param identity The reduction of an empty window
+     * @param accumulator The function adding a value to a reduction
+     * @param deaccumulator The function removing a previously added value from a reduction
+     * @param <T> The type over which the source stream streams
+     * @param <R> The type of the reduction
+     * @return A stream of the reduction of each window
+     */
+    public static <T, R> Stream<R> windowedReduce(Stream<T> source, int windowSize, int skip, R identity,
+                                                  BiFunction<R, ? super T, R> accumulator,
+                                                  BiFunction<R, ? super T, R> deaccumulator) {
+        if (windowSize <= 0) throw new IllegalArgumentException("Positive window size expected, was: " + windowSize);
+        if (skip <= 0) throw new IllegalArgumentException("Positive skip expected, was: " + skip);
+        return StreamSupport.stream(SlidingReduceSpliterator.reducing(source.spliterator(), windowSize, skip, identity,
+                accumulator, deaccumulator), false)
+                .onClose(source::close);
+    }
+
+    /**
+     * Constructs a stream of ints by applying the supplied function to each window of a stream of ints, where windows
+     * are taken as by {@link #windowed(Stream, int, int)}. Each window is passed to the function as a slice of a
+     * primitive array, which is only valid for the duration of the call; no values are boxed, and no arrays are
+     * allocated per window.
+     *
+     * @param source The source stream
+     * @param windowSize The window size
+     * @param skip The skip amount between windows
+     * @param function The function to apply to each window
+     * @return A stream of the function's result for each window
+     */
+    public static IntStream windowedInts(IntStream source, int windowSize, int skip, IntSliceFunction function) {
+        if (windowSize <= 0) throw new IllegalArgumentException("Positive window size expected, was: " + windowSize);
+        if (skip <= 0) throw new IllegalArgumentException("Positive skip expected, was: " + skip);
+        return StreamSupport.intStream(PrimitiveWindowedSpliterator.slicing(source.spliterator(), windowSize, skip, function), false)
+                .onClose(source::close);
+    }
+
+    /**
+     * Constructs a stream of ints by reducing each window of a stream of ints, where windows are taken as by
+     * {@link #windowed(Stream, int, int)}, for reductions which can be undone (such as a sum, undone by
+     * subtraction). Each value is accumulated once as it enters the window and deaccumulated once as it leaves it.
+     *
+     * @param source The source stream
+     * @param windowSize The window size
+     * @param skip The skip amount between windows
+     * @param identity The reduction of an empty window
+     * @param accumulator The function adding a value to a reduction
+     * @param deaccumulator The function removing a previously added value from a reduction
+     * @return A stream of the reduction of each window
+     */
+    public static IntStream windowedInts(IntStream source, int windowSize, int skip, int identity,
+                                         IntBinaryOperator accumulator, IntBinaryOperator deaccumulator) {
+        if (windowSize <= 0) throw new IllegalArgumentException("Positive window size expected, was: " + windowSize);
+        if (skip <= 0) throw new IllegalArgumentException("Positive skip expected, was: " + skip);
+        return StreamSupport.intStream(PrimitiveWindowedSpliterator.reducing(source.spliterator(), windowSize, skip,
+                identity, accumulator, deaccumulator), false)
+                .onClose(source::close);
+    }
+
+    /**
+     * Constructs a stream of longs by applying the supplied function to each window of a stream of longs, where windows
+     * are taken as by {@link #windowed(Stream, int, int)}. Each window is passed to the function as a slice of a
+     * primitive array, which is only valid for the duration of the call; no values are boxed, and no arrays are
+     * allocated per window.
+     *
+     * @param source The source stream
+     * @param windowSize The window size
+     * @param skip The skip amount between windows
+     * @param function The function to apply to each window
+     * @return A stream of the function's result for each window
+     */
+    public static LongStream windowedLongs(LongStream source, int windowSize, int skip, LongSliceFunction function) {
+        if (windowSize <= 0) throw new IllegalArgumentException("Positive window size expected, was: " + windowSize);
+        if (skip <= 0) throw new IllegalArgumentException("Positive skip expected, was: " + skip);
+        return StreamSupport.longStream(PrimitiveWindowedSpliterator.slicing(source.spliterator(), windowSize, skip, function), false)
+                .onClose(source::close);
+    }
+
+    /**
+     * Constructs a stream of longs by reducing each window of a stream of longs, where windows are taken as by
+     * {@link #windowed(Stream, int, int)}, for reductions which can be undone (such as a sum, undone by
+     * subtraction). Each value is accumulated once as it enters the window and deaccumulated once as it leaves it.
+     *
+     * @param source The source stream
+     * @param windowSize The window size
+     * @param skip The skip amount between windows
+     * @param identity The reduction of an empty window
+     * @param accumulator The function adding a value to a reduction
+     * @param deaccumulator The function removing a previously added value from a reduction
+     * @return A stream of the reduction of each window
+     */
+    public static LongStream windowedLongs(LongStream source, int windowSize, int skip, long identity,
+                                         LongBinaryOperator accumulator, LongBinaryOperator deaccumulator) {
+        if (windowSize <= 0) throw new IllegalArgumentException("Positive window size expected, was: " + windowSize);
+        if (skip <= 0) throw new IllegalArgumentException("Positive skip expected, was: " + skip);
+        return StreamSupport.longStream(PrimitiveWindowedSpliterator.reducing(source.spliterator(), windowSize, skip,
+                identity, accumulator, deaccumulator), false)
+                .onClose(source::close);
+    }
+
+    /**
+     * Constructs a stream of doubles by applying the supplied function to each window of a stream of doubles, where windows
+     * are taken as by {@link #windowed(Stream, int, int)}. Each window is passed to the function as a slice of a
+     * primitive array, which is only valid for the duration of the call; no values are boxed, and no arrays are
+     * allocated per window.
+     *
+     * @param source The source stream
+     * @param windowSize The window size
+     * @param skip The skip amount between windows
+     * @param function The function to apply to each window
+     * @return A stream of the function's result for each window
+     */
+    public static DoubleStream windowedDoubles(DoubleStream source, int windowSize, int skip, DoubleSliceFunction function) {
+        if (windowSize <= 0) throw new IllegalArgumentException("Positive window size expected, was: " + windowSize);
+        if (skip <= 0) throw new IllegalArgumentException("Positive skip expected, was: " + skip);
+        return StreamSupport.doubleStream(PrimitiveWindowedSpliterator.slicing(source.spliterator(), windowSize, skip, function), false)
+                .onClose(source::close);
+    }
+
+    /**
+     * Constructs a stream of doubles by reducing each window of a stream of doubles, where windows are taken as by
+     * {@link #windowed(Stream, int, int)}, for reductions which can be undone (such as a sum, undone by
+     * subtraction). Each value is accumulated once as it enters the window and deaccumulated once as it leaves it.
+     *
+     * @param source The source stream
+     * @param windowSize The window size
+     * @param skip The skip amount between windows
+     * @param identity The reduction of an empty window
+     * @param accumulator The function adding a value to a reduction
+     * @param deaccumulator The function removing a previously added value from a reduction
+     * @return A stream of the reduction of each window
+     */
+    public static DoubleStream windowedDoubles(DoubleStream source, int windowSize, int skip, double identity,
+                                         DoubleBinaryOperator accumulator, DoubleBinaryOperator deaccumulator) {
+        if (windowSize <= 0) throw new IllegalArgumentException("Positive window size expected, was: " + windowSize);
+        if (skip <= 0) throw new IllegalArgumentException("Positive skip expected, was: " + skip);
+        return StreamSupport.doubleStream(PrimitiveWindowedSpliterator.reducing(source.spliterator(), windowSize, skip,
+                identity, accumulator, deaccumulator), false)
+                .onClose(source::close);
+    }
+
+    /**
+     * Constructs a stream of windows of time over a stream of timestamped values. Windows span
+     * [k * slide, k * slide + size) for every integer k, so that a slide equal to the size gives tumbling windows, and
+     * a smaller slide gives overlapping sliding windows. Each value is placed in every window containing its
+     * timestamp, and windows which receive no values are not streamed.
+     *
+     * Values are expected in timestamp order. A window is streamed as soon as a value at or after its end is seen,
+     * and only the windows which may still receive values are held; a value arriving after its window has been
+     * streamed is not included in it.
+     *
+     * @param source The source stream
+     * @param timestamp The function giving each value's timestamp
+     * @param size The size of each window
+     * @param slide The distance between the starts of successive windows
+     * @param <T> The type over which the source stream streams
+     * @return A stream of time windows, each containing a list of the values within it
+     */
+    public static <T> Stream<TimeWindow<List<T>>> timeWindows(Stream<T> source, ToLongFunction<? super T> timestamp,
+                                                             long size, long slide) {
+        return timeWindows(source, timestamp, size, slide, Collectors.toList());
+    }
+
+    /**
+     * Constructs a stream of windows of time over a stream of timestamped values, as
+     * {@link #timeWindows(Stream, ToLongFunction, long, long)} does, collecting the values in each window with the
+     * supplied collector as they arrive, so that the values themselves need not be held.
+     *
+     * @param source The source stream
+     * @param timestamp The function giving each value's timestamp
+     * @param size The size of each window
+     * @param slide The distance between the starts of successive windows
+     * @param collector The collector to collect each window's values with
+     * @param <T> The type over which the source stream streams
+     * @param <A> The collector's accumulation type
+     * @param <R> The type of each window's collected contents
+     * @return A stream of time windows, each containing the collected values within it
+     */
+    public static <T, A, R> Stream<TimeWindow<R>> timeWindows(Stream<T> source, ToLongFunction<? super T> timestamp,
+                                                              long size, long slide, Collector<? super T, A, R> collector) {
+        if (size <= 0) throw new IllegalArgumentException("Positive size expected, was: " + size);
+        if (slide <= 0) throw new IllegalArgumentException("Positive slide expected, was: " + slide);
+        return StreamSupport.stream(TimeWindowSpliterator.windowing(source.spliterator(), timestamp, size, slide, collector), false)
+                .onClose(source::close);
+    }
+
+    /**
+     * Constructs a stream of session windows over a stream of timestamped values, where a session is a run of values
+     * each no more than the gap after the one before. Each session's window starts at its first value's timestamp
+     * and ends the gap after its last value's.
+     *
+     * Values are expected in timestamp order. A session is streamed as soon as a value more than the gap after its
+     * last value is seen, so only the current session is held.
+     *
+     * @param source The source stream
+     * @param timestamp The function giving each value's timestamp
+     * @param gap The largest gap between the timestamps of successive values in the same session
+     * @param <T> The type over which the source stream streams
+     * @return A stream of session windows, each containing a list of the values within it
+     */
+    public static <T> Stream<TimeWindow<List<T>>> sessionWindows(Stream<T> source, ToLongFunction<? super T> timestamp,
+                                                                long gap) {
+        return sessionWindows(source, timestamp, gap, Collectors.toList());
+    }
+
+    /**
+     * Constructs a stream of session windows over a stream of timestamped values, as
+     * {@link #sessionWindows(Stream, ToLongFunction, long)} does, collecting the values in each session with the
+     * supplied collector as they arrive.
+     *
+     * @param source The source stream
+     * @param timestamp The function giving each value's timestamp
+     * @param gap The largest gap between the timestamps of successive values in the same session
+     * @param collector The collector to collect each session's values with
+     * @param <T> The type over which the source stream streams
+     * @param <A> The collector's accumulation type
+     * @param <R> The type of each session's collected contents
+     * @return A stream of session windows, each containing the collected values within it
+     */
+    public static <T, A, R> Stream<TimeWindow<R>> sessionWindows(Stream<T> source, ToLongFunction<? super T> timestamp,
+                                                                 long gap, Collector<? super T, A, R> collector) {
+        if (gap < 0) throw new IllegalArgumentException("Non-negative gap expected, was: " + gap);
+        return collectingRuns(
+                source,
+                (previous, next) -> timestamp.applyAsLong(next) - timestamp.applyAsLong(previous) <= gap,
+                SessionCollector.collecting(timestamp, gap, collector));
+    }
+
+    /**
+     * Constructs a stream which combines each pair of adjacent values in the source stream, so that a source stream
+     * of [a, b, c, d] becomes [f(a, b), f(b, c), f(c, d)]. This is equivalent to mapping {@link #windowed(Stream, int)}
+     * with a window size of 2, but allocates no windows.
+     *
+     * @param source The source stream
+     * @param combiner The function to combine each value with the value that follows it
+     * @param <T> The type over which the source stream streams
+     * @param <O> The type created by the combiner out of pairs of adjacent values
+     * @return A stream of combined pairs of adjacent values
+     */
+    public static <T, O> Stream<O> pairwise(Stream<T> source, BiFunction<? super T, ? super T, ? extends O> combiner) {
+        return StreamSupport.stream(PairwiseSpliterator.<T, O>pairing(source.spliterator(), combiner), source.isParallel())
+                .onClose(source::close);
+    }
+
+    /**
+     * Constructs a windowed stream over a list, where each element is a window of the given size and the skip is the
+     * offset from the start of each window. As with {@link #windowed(Stream, int, int)}, only complete windows are
+     * streamed.
+     *
+     * If the list is {@link RandomAccess}, each window is a {@link List#subList(int, int)} view of the list rather
+     * than a copy, and the windowed stream is exactly SIZED and splits in constant time. Otherwise this is equivalent
+     * to windowing the list's stream.
+     *
+     * @param source The input list
+     * @param windowSize The window size
+     * @param skip The skip amount between windows
+     * @param <T> The type over which to stream
+     * @return A stream of lists representing the windows
+     */
+    public static <T> Stream<List<T>> windowed(List<T> source, int windowSize, int skip) {
+        if (windowSize <= 0) throw new IllegalArgumentException("Positive window size expected, was: " + windowSize);
+        if (skip <= 0) throw new IllegalArgumentException("Positive skip expected, was: " + skip);
+        if (!(source instanceof RandomAccess)) {
+            return windowed(source.stream(), windowSize, skip);
+        }
+        int windowCount = source.size() < windowSize ? 0 : (source.size() - windowSize) / skip + 1;
+        return StreamSupport.stream(RandomAccessSpliterator.over(
+                windowCount,
+                i -> source.subList(i * skip, i * skip + windowSize),
+                Spliterator.NONNULL), false);
+    }
+
     /**
      * Constructs a stream that represents grouped run using the default comparator. This means
      * that similar elements will get grouped into a list. I.e. given a list of [1,1,2,3,4,4]
@@ -317,7 +1125,133 @@ public final class StreamUtils {
      * @return A stream of lists of grouped runs
      */
     public static <T> Stream<List<T>> groupRuns(Stream<T> source, Comparator<T> comparator){
-        return StreamSupport.stream(new GroupRunsSpliterator<>(source.spliterator(), comparator), false)
+        return groupRuns(source, comparator, Collectors.toList());
+    }
+
+    /**
+     * Constructs a stream of the runs of similar neighbouring elements in the source stream, as
+     * {@link #groupRuns(Stream, Comparator)} does, but feeds each run to the supplied collector as it is read, emitting
+     * only the collected result. No run is ever held in memory unless the collector holds it.
+     *
+     * For example, given a stream of [1,1,2,3,4,4] and a counting collector, you will get a stream of (2, 1, 1, 2)
+     *
+     * @param source The input stream
+     * @param comparator The comparator to determine if neighbor elements are the same
+     * @param collector The collector to collect each run with
+     * @param <T> The type over which to stream
+     * @param <A> The collector's accumulation type
+     * @param <R> The type of each collected run
+     * @return A stream of collected runs
+     */
+    public static <T, A, R> Stream<R> groupRuns(Stream<T> source, Comparator<? super T> comparator,
+                                                Collector<? super T, A, R> collector) {
+        return collectingRuns(source, (previous, next) -> comparator.compare(next, previous) == 0, collector);
+    }
+
+    /**
+     * Constructs a stream of the runs of neighbouring elements in the source stream which have equal keys, feeding
+     * each run to the supplied collector as it is read and emitting only the collected result.
+     *
+     * For example, given a stream of ["a1", "a2", "b1", "a3"], keyed by their first character and collected by
+     * counting, you will get a stream of (2, 1, 1)
+     *
+     * @param source The input stream
+     * @param keyExtractor The function giving each element's key
+     * @param collector The collector to collect each run with
+     * @param <T> The type over which to stream
+     * @param <K> The type of the keys
+     * @param <A> The collector's accumulation type
+     * @param <R> The type of each collected run
+     * @return A stream of collected runs
+     */
+    public static <T, K, A, R> Stream<R> groupRunsBy(Stream<T> source, Function<? super T, ? extends K> keyExtractor,
+                                                     Collector<? super T, A, R> collector) {
+        return collectingRuns(
+                source,
+                (previous, next) -> Objects.equals(keyExtractor.apply(previous), keyExtractor.apply(next)),
+                collector);
+    }
+
+    private static <T, A, R> Stream<R> collectingRuns(Stream<T> source, BiPredicate<? super T, ? super T> sameRun,
+                                                      Collector<? super T, A, R> collector) {
+        Spliterator<T> spliterator = source.spliterator();
+        Stream<R> runs = source.isParallel() && spliterator.hasCharacteristics(Spliterator.SUBSIZED)
+                ? StreamSupport.stream(() -> ParallelRuns.collectingRuns(spliterator, sameRun, collector),
+                        ParallelRuns.CHARACTERISTICS, true)
+                : StreamSupport.stream(CollectingRunSpliterator.collectingRuns(spliterator, sameRun, collector), false);
+        return runs.onClose(source::close);
+    }
+
+    /**
+     * Constructs a stream of the runs of equal neighbouring elements in the source stream, each given as the repeated
+     * value and the number of times it is repeated. I.e. given a stream of [a, a, a, b, a, a] you will get a stream of
+     * ((a, 3), (b, 1), (a, 2)). Only the first element of each run is kept.
+     *
+     * @param source The input stream
+     * @param <T> The type over which to stream
+     * @return A stream of run lengths
+     */
+    public static <T> Stream<RunLength<T>> runLengthEncode(Stream<T> source) {
+        return collectingRuns(source, Objects::equals, RunLengthCollector.counting());
+    }
+
+    /**
+     * Constructs a stream which repeats the value of each run length in the source stream as many times as its count,
+     * reversing {@link #runLengthEncode(Stream)}.
+     *
+     * @param source The stream of run lengths
+     * @param <T> The type of the repeated values
+     * @return A stream of the repeated values
+     */
+    public static <T> Stream<T> runLengthDecode(Stream<RunLength<T>> source) {
+        return source.flatMap(run -> LongStream.range(0, run.getCount()).mapToObj(i -> run.getValue()));
+    }
+
+    /**
+     * Constructs a stream of the differences between each int in the source stream and the one before it, taking the
+     * first int as is. I.e. given a stream of [100, 101, 103, 103] you will get a stream of (100, 1, 2, 0). Arithmetic
+     * wraps on overflow, so {@link #deltaDecode(IntStream)} always restores the original stream.
+     *
+     * @param source The input stream
+     * @return A stream of deltas
+     */
+    public static IntStream deltaEncode(IntStream source) {
+        return StreamSupport.intStream(DeltaSpliterator.encoding(source.spliterator()), false)
+                .onClose(source::close);
+    }
+
+    /**
+     * Constructs a stream of the running totals of a stream of deltas, reversing {@link #deltaEncode(IntStream)}.
+     *
+     * @param source The stream of deltas
+     * @return A stream of the decoded ints
+     */
+    public static IntStream deltaDecode(IntStream source) {
+        return StreamSupport.intStream(DeltaSpliterator.decoding(source.spliterator()), false)
+                .onClose(source::close);
+    }
+
+    /**
+     * Constructs a stream of the differences between each long in the source stream and the one before it, taking the
+     * first long as is. Arithmetic wraps on overflow, so {@link #deltaDecode(LongStream)} always restores the original
+     * stream.
+     *
+     * @param source The input stream
+     * @return A stream of deltas
+     */
+    public static LongStream deltaEncode(LongStream source) {
+        return StreamSupport.longStream(DeltaSpliterator.encoding(source.spliterator()), false)
+                .onClose(source::close);
+    }
+
+    /**
+     * Constructs a stream of the running totals of a stream of deltas, reversing {@link #deltaEncode(LongStream)}.
+     *
+     * @param source The stream of deltas
+     * @return A stream of the decoded longs
+     */
+    public static LongStream deltaDecode(LongStream source) {
+        return StreamSupport.longStream(DeltaSpliterator.decoding(source.spliterator()), false)
                 .onClose(source::close);
     }
 
@@ -420,9 +1354,7 @@ public final class StreamUtils {
      * @return Stream of List&lt;T&gt; aggregated according to predicate
      */
     public static <T> Stream<List<T>> aggregate(Stream<T> source, BiPredicate<T, T> predicate) {
-        return StreamSupport.stream(new AggregatingSpliterator<>(source.spliterator(),
-            (a, e) -> a.isEmpty() || predicate.test(a.get(a.size() - 1), e)), false)
-                .onClose(source::close);
+        return collectingRuns(source, predicate, Collectors.toList());
     }
 
     /**
@@ -434,10 +1366,36 @@ public final class StreamUtils {
      */
     public static <T> Stream<List<T>> aggregate(Stream<T> source, int size) {
         if (size <= 0) throw new IllegalArgumentException("Positive size expected, was: "+size);
-        return StreamSupport.stream(new AggregatingSpliterator<>(source.spliterator(), (a, e) -> a.size() < size), false)
+        return StreamSupport.stream(BatchingSpliterator.batching(source.spliterator(), size), source.isParallel())
                 .onClose(source::close);
     }
 
+    /**
+     * Aggregates items from a list into lists of items with fixed size.
+     *
+     * If the list is {@link RandomAccess}, each aggregate is a {@link List#subList(int, int)} view of the list rather
+     * than a copy, and the aggregated stream is exactly SIZED and splits in constant time. Otherwise this is
+     * equivalent to aggregating the list's stream.
+     * @param source - source list
+     * @param size - size of the aggregated list
+     * @param <T> The type over which the stream streams.
+     * @return Stream of List&lt;T&gt; with all list of size @size with possible exception of last List&lt;T&gt;
+     */
+    public static <T> Stream<List<T>> aggregate(List<T> source, int size) {
+        if (size <= 0) throw new IllegalArgumentException("Positive size expected, was: "+size);
+        if (!(source instanceof RandomAccess)) {
+            return aggregate(source.stream(), size);
+        }
+        int batchCount = source.size() / size + (source.size() % size == 0 ? 0 : 1);
+        return StreamSupport.stream(RandomAccessSpliterator.over(
+                batchCount,
+                i -> {
+                    int start = i * size;
+                    return source.subList(start, size > source.size() - start ? source.size() : start + size);
+                },
+                Spliterator.NONNULL), false);
+    }
+
     /**
      * Aggregates items from source stream. Similar to @aggregate, but uses different predicate, evaluated on all items aggregated so far
      * and next item from source stream.
@@ -451,6 +1409,44 @@ public final class StreamUtils {
                 .onClose(source::close);
     }
 
+    /**
+     * Aggregates items from source stream into batches bounded both by total weight and by number of items, keeping a
+     * running total of each batch's weight. A new batch is started whenever adding the next item would take the
+     * current batch over either limit. An item which on its own weighs more than the maximum weight is given a batch
+     * to itself.
+     * @param source - source stream
+     * @param weigher - function giving the (non-negative) weight of each item, e.g. its size in bytes
+     * @param maxWeight - the maximum total weight of a batch
+     * @param maxCount - the maximum number of items in a batch
+     * @param <T> The type over which the stream streams.
+     * @return Stream of List&lt;T&gt; within the weight and count limits, except for overweight single items
+     */
+    public static <T> Stream<List<T>> batchByWeight(Stream<T> source, ToLongFunction<? super T> weigher, long maxWeight, int maxCount) {
+        return batchByWeight(source, weigher, maxWeight, maxCount, null);
+    }
+
+    /**
+     * Aggregates items from source stream into batches bounded both by total weight and by number of items, as
+     * {@link #batchByWeight(Stream, ToLongFunction, long, int)} does, but passes any item which on its own weighs more
+     * than the maximum weight to the supplied consumer instead of batching it.
+     * @param source - source stream
+     * @param weigher - function giving the (non-negative) weight of each item, e.g. its size in bytes
+     * @param maxWeight - the maximum total weight of a batch
+     * @param maxCount - the maximum number of items in a batch
+     * @param onOverweight - consumer of items too heavy to batch, or null to give each such item a batch to itself
+     * @param <T> The type over which the stream streams.
+     * @return Stream of List&lt;T&gt; within the weight and count limits
+     */
+    public static <T> Stream<List<T>> batchByWeight(Stream<T> source, ToLongFunction<? super T> weigher, long maxWeight,
+                                                    int maxCount, Consumer<? super T> onOverweight) {
+        if (maxWeight < 0) throw new IllegalArgumentException("Non-negative weight expected, was: "+maxWeight);
+        if (maxCount <= 0) throw new IllegalArgumentException("Positive count expected, was: "+maxCount);
+        return StreamSupport.stream(
+                WeightedBatchingSpliterator.batching(source.spliterator(), weigher, maxWeight, maxCount, onOverweight),
+                false)
+                .onClose(source::close);
+    }
+
     /**
      * Converts nulls into an empty stream, and non-null values into a stream with one element.
      * @param nullable The nullable value to convert.
@@ -542,12 +1538,42 @@ public final class StreamUtils {
 
   /**
    * Cycles through a set of items indefinitely.
+   *
+   * Each element is computed directly from its index over {@link #indices()}, so the stream splits for parallel
+   * execution. If there are no items, the stream is empty.
    * @param items The items to cycle through.
    * @param <T> The type of the items.
    * @return An infinite stream cycling through the supplied items.
    */
   public static <T> Stream<T> cycle(T...items) {
-      return IntStream.iterate(0, i -> i == items.length - 1 ? 0 : i + 1).mapToObj(i -> items[i]);
+      if (items.length == 0) {
+          return Stream.empty();
+      }
+      return indices().mapToObj(i -> items[(int) (i % items.length)]);
     }
 
+  /**
+   * Cycles through a set of ints indefinitely, for example to assign round-robin shard keys.
+   * @param items The ints to cycle through.
+   * @return An infinite stream cycling through the supplied ints, or an empty stream if there are none.
+   */
+  public static IntStream cycleInts(int...items) {
+      if (items.length == 0) {
+          return IntStream.empty();
+      }
+      return indices().mapToInt(i -> items[(int) (i % items.length)]);
+  }
+
+  /**
+   * Cycles through a set of longs indefinitely.
+   * @param items The longs to cycle through.
+   * @return An infinite stream cycling through the supplied longs, or an empty stream if there are none.
+   */
+  public static LongStream cycleLongs(long...items) {
+      if (items.length == 0) {
+          return LongStream.empty();
+      }
+      return indices().map(i -> items[(int) (i % items.length)]);
+  }
+
 }
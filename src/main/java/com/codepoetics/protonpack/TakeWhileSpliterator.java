@@ -41,6 +41,21 @@ class TakeWhileSpliterator<T> implements Spliterator<T> {
         });
     }
 
+    @Override
+    public void forEachRemaining(Consumer<? super T> action) {
+        Consumer<T> sink = e -> {
+            if (condition.test(e)) {
+                action.accept(e);
+            } else {
+                if (inclusive) {
+                    action.accept(e);
+                }
+                conditionHeldSoFar = false;
+            }
+        };
+        while (conditionHeldSoFar && source.tryAdvance(sink));
+    }
+
     @Override
     public Spliterator<T> trySplit() {
         return null;
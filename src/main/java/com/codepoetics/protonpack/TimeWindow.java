@@ -0,0 +1,77 @@
+package com.codepoetics.protonpack;
+
+import java.util.Objects;
+
+/**
+ * The contents of a window of time over a stream of timestamped values, together with the window's bounds.
+ *
+ * @param <R> The type of the window's contents.
+ */
+public class TimeWindow<R> {
+
+    /**
+     * Combine a window's bounds and its contents.
+     * @param start The start of the window (inclusive).
+     * @param end The end of the window (exclusive).
+     * @param contents The window's contents.
+     * @param <R> The type of the window's contents.
+     * @return The time window.
+     */
+    public static <R> TimeWindow<R> window(long start, long end, R contents) {
+        return new TimeWindow<>(start, end, contents);
+    }
+
+    private final long start;
+    private final long end;
+    private final R contents;
+
+    private TimeWindow(long start, long end, R contents) {
+        this.start = start;
+        this.end = end;
+        this.contents = contents;
+    }
+
+    /**
+     * @return The start of the window (inclusive).
+     */
+    public long getStart() {
+        return start;
+    }
+
+    /**
+     * @return The end of the window (exclusive).
+     */
+    public long getEnd() {
+        return end;
+    }
+
+    /**
+     * @return The window's contents.
+     */
+    public R getContents() {
+        return contents;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(start, end, contents);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj == null || getClass() != obj.getClass()) {
+            return false;
+        }
+        final TimeWindow<?> other = (TimeWindow<?>) obj;
+        return start == other.start && end == other.end && Objects.equals(contents, other.contents);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("TimeWindow { start: %d, end: %d, contents: %s }", start, end, contents);
+    }
+
+}
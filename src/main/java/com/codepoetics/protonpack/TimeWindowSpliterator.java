@@ -0,0 +1,149 @@
+package com.codepoetics.protonpack;
+
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.Spliterator;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
+import java.util.stream.Collector;
+
+/**
+ * Assigns each value to every window [k * slide, k * slide + size) containing its timestamp, and completes each
+ * window once a value is seen whose timestamp is at or after the window's end. Only windows that might still receive
+ * values are held open, so at most size / slide (rounded up) windows are held at once.
+ */
+class TimeWindowSpliterator<T, A, R> implements Spliterator<TimeWindow<R>> {
+
+    static <T, A, R> Spliterator<TimeWindow<R>> windowing(Spliterator<T> source, ToLongFunction<? super T> timestamp,
+                                                          long size, long slide, Collector<? super T, A, R> collector) {
+        return new TimeWindowSpliterator<>(source, timestamp, size, slide, collector);
+    }
+
+    private static final class OpenWindow<A> {
+        private final long start;
+        private final A contents;
+
+        private OpenWindow(long start, A contents) {
+            this.start = start;
+            this.contents = contents;
+        }
+    }
+
+    private final Spliterator<T> source;
+    private final ToLongFunction<? super T> timestamp;
+    private final long size;
+    private final long slide;
+    private final Supplier<A> supplier;
+    private final BiConsumer<A, ? super T> accumulator;
+    private final Function<A, R> finisher;
+
+    private final ArrayDeque<OpenWindow<A>> open = new ArrayDeque<>();
+    private final ArrayDeque<TimeWindow<R>> completed = new ArrayDeque<>();
+    private final Consumer<T> sink = this::accept;
+    private long watermark = Long.MIN_VALUE;
+
+    private TimeWindowSpliterator(Spliterator<T> source, ToLongFunction<? super T> timestamp, long size, long slide,
+                                  Collector<? super T, A, R> collector) {
+        this.source = source;
+        this.timestamp = timestamp;
+        this.size = size;
+        this.slide = slide;
+        this.supplier = collector.supplier();
+        this.accumulator = collector.accumulator();
+        this.finisher = collector.finisher();
+    }
+
+    private void accept(T item) {
+        long time = timestamp.applyAsLong(item);
+        if (time > watermark) {
+            watermark = time;
+            while (!open.isEmpty() && open.peekFirst().start + size <= time) {
+                complete(open.pollFirst());
+            }
+        }
+
+        long first = Math.floorDiv(time - size, slide) + 1;
+        long last = Math.floorDiv(time, slide);
+        for (long k = first; k <= last; k++) {
+            long start = k * slide;
+            if (start + size <= watermark) {
+                // A late value, whose window has already been completed.
+                continue;
+            }
+            accumulator.accept(windowStartingAt(start), item);
+        }
+    }
+
+    private A windowStartingAt(long start) {
+        if (open.isEmpty() || open.peekLast().start < start) {
+            OpenWindow<A> window = new OpenWindow<>(start, supplier.get());
+            open.addLast(window);
+            return window.contents;
+        }
+        Iterator<OpenWindow<A>> windows = open.iterator();
+        while (true) {
+            OpenWindow<A> window = windows.next();
+            if (window.start == start) {
+                return window.contents;
+            }
+        }
+    }
+
+    private void complete(OpenWindow<A> window) {
+        completed.addLast(TimeWindow.window(window.start, window.start + size, finisher.apply(window.contents)));
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super TimeWindow<R>> action) {
+        while (completed.isEmpty() && source.tryAdvance(sink));
+
+        if (completed.isEmpty()) {
+            while (!open.isEmpty()) {
+                complete(open.pollFirst());
+            }
+        }
+
+        if (completed.isEmpty()) {
+            return false;
+        }
+        action.accept(completed.pollFirst());
+        return true;
+    }
+
+    @Override
+    public void forEachRemaining(Consumer<? super TimeWindow<R>> action) {
+        source.forEachRemaining(item -> {
+            accept(item);
+            handOnCompleted(action);
+        });
+
+        while (!open.isEmpty()) {
+            complete(open.pollFirst());
+        }
+        handOnCompleted(action);
+    }
+
+    private void handOnCompleted(Consumer<? super TimeWindow<R>> action) {
+        while (!completed.isEmpty()) {
+            action.accept(completed.pollFirst());
+        }
+    }
+
+    @Override
+    public Spliterator<TimeWindow<R>> trySplit() {
+        return null;
+    }
+
+    @Override
+    public long estimateSize() {
+        return source.estimateSize();
+    }
+
+    @Override
+    public int characteristics() {
+        return (source.characteristics() & Spliterator.ORDERED) | Spliterator.NONNULL;
+    }
+}
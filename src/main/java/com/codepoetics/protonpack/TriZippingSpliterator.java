@@ -11,12 +11,16 @@ class TriZippingSpliterator<L, M, R, O> implements Spliterator<O> {
         return new TriZippingSpliterator<>(lefts, middles, rights, combiner);
     }
 
-    private final Spliterator<L> lefts;
-    private final Spliterator<M> middles;
-    private final Spliterator<R> rights;
+    private Spliterator<L> lefts;
+    private Spliterator<M> middles;
+    private Spliterator<R> rights;
     private final TriFunction<L, M, R, O> combiner;
-    private boolean middleHadNext = false;
-    private boolean rightHadNext = false;
+    private L left;
+    private M middle;
+    private R right;
+    private final Consumer<L> leftSink = l -> left = l;
+    private final Consumer<M> middleSink = m -> middle = m;
+    private final Consumer<R> rightSink = r -> right = r;
 
     private TriZippingSpliterator(Spliterator<L> lefts, Spliterator<M> middles, Spliterator<R> rights, TriFunction<L, M, R, O> combiner) {
         this.lefts = lefts;
@@ -27,23 +31,46 @@ class TriZippingSpliterator<L, M, R, O> implements Spliterator<O> {
 
     @Override
     public boolean tryAdvance(Consumer<? super O> action) {
-        middleHadNext = false;
-        rightHadNext = false;
-        boolean leftHadNext = lefts.tryAdvance(l ->
-            middles.tryAdvance(m -> {
-                middleHadNext = true;
-                rights.tryAdvance(r -> {
-                    rightHadNext = true;
-                    action.accept(combiner.apply(l, m, r));
-                });
-            }));
-
-        return leftHadNext && middleHadNext && rightHadNext;
+        if (lefts.tryAdvance(leftSink) && middles.tryAdvance(middleSink) && rights.tryAdvance(rightSink)) {
+            action.accept(combiner.apply(left, middle, right));
+            return true;
+        }
+        return false;
     }
 
+    @Override
+    public void forEachRemaining(Consumer<? super O> action) {
+        long leftSize = lefts.getExactSizeIfKnown();
+        if (leftSize >= 0 && leftSize <= middles.getExactSizeIfKnown() && leftSize <= rights.getExactSizeIfKnown()) {
+            lefts.forEachRemaining(l -> {
+                if (middles.tryAdvance(middleSink) && rights.tryAdvance(rightSink)) {
+                    action.accept(combiner.apply(l, middle, right));
+                }
+            });
+            return;
+        }
+
+        while (lefts.tryAdvance(leftSink) && middles.tryAdvance(middleSink) && rights.tryAdvance(rightSink)) {
+            action.accept(combiner.apply(left, middle, right));
+        }
+    }
+
+    @SuppressWarnings("unchecked")
     @Override
     public Spliterator<O> trySplit() {
-        return null;
+        Spliterator<?>[] sources = { lefts, middles, rights };
+        Spliterator<?>[] prefixes = AlignedSplits.trySplit(sources);
+        lefts = (Spliterator<L>) sources[0];
+        middles = (Spliterator<M>) sources[1];
+        rights = (Spliterator<R>) sources[2];
+
+        return prefixes == null
+                ? null
+                : new TriZippingSpliterator<>(
+                        (Spliterator<L>) prefixes[0],
+                        (Spliterator<M>) prefixes[1],
+                        (Spliterator<R>) prefixes[2],
+                        combiner);
     }
 
     @Override
@@ -53,7 +80,7 @@ class TriZippingSpliterator<L, M, R, O> implements Spliterator<O> {
 
     @Override
     public int characteristics() {
-        return lefts.characteristics() & rights.characteristics()
+        return lefts.characteristics() & middles.characteristics() & rights.characteristics()
                 & ~(Spliterator.DISTINCT | Spliterator.SORTED);
     }
 }
@@ -4,26 +4,42 @@ import java.util.Optional;
 import java.util.Spliterator;
 import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.function.UnaryOperator;
 
 class UnfoldSpliterator<T> implements Spliterator<T> {
 
     static <T> UnfoldSpliterator<T> over(T seed, Function<T, Optional<T>> generator) {
+        return new UnfoldSpliterator<>(seed, value -> generator.apply(value).orElse(null));
+    }
+
+    static <T> UnfoldSpliterator<T> overNullable(T seed, UnaryOperator<T> generator) {
         return new UnfoldSpliterator<>(seed, generator);
     }
 
-    private Optional<T> current;
-    private final Function<T, Optional<T>> generator;
+    private T current;
+    private final UnaryOperator<T> generator;
 
-    private UnfoldSpliterator(T seed, Function<T, Optional<T>> generator) {
-        this.current = Optional.of(seed);
+    private UnfoldSpliterator(T seed, UnaryOperator<T> generator) {
+        this.current = seed;
         this.generator = generator;
     }
 
     @Override
     public boolean tryAdvance(Consumer<? super T> action) {
-        current.ifPresent(action);
-        current = current.flatMap(generator);
-        return current.isPresent();
+        if (current == null) {
+            return false;
+        }
+        action.accept(current);
+        current = generator.apply(current);
+        return true;
+    }
+
+    @Override
+    public void forEachRemaining(Consumer<? super T> action) {
+        while (current != null) {
+            action.accept(current);
+            current = generator.apply(current);
+        }
     }
 
     @Override
@@ -38,6 +54,6 @@ class UnfoldSpliterator<T> implements Spliterator<T> {
 
     @Override
     public int characteristics() {
-        return Spliterator.IMMUTABLE & Spliterator.NONNULL & Spliterator.ORDERED;
+        return Spliterator.IMMUTABLE | Spliterator.NONNULL | Spliterator.ORDERED;
     }
 }
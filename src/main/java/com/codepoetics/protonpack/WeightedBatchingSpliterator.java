@@ -0,0 +1,114 @@
+package com.codepoetics.protonpack;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.function.ToLongFunction;
+
+class WeightedBatchingSpliterator<T> implements Spliterator<List<T>> {
+
+    static <T> Spliterator<List<T>> batching(Spliterator<T> source, ToLongFunction<? super T> weigher, long maxWeight,
+                                             int maxCount, Consumer<? super T> onOverweight) {
+        return new WeightedBatchingSpliterator<>(source, weigher, maxWeight, maxCount, onOverweight);
+    }
+
+    private final Spliterator<T> source;
+    private final ToLongFunction<? super T> weigher;
+    private final long maxWeight;
+    private final int maxCount;
+    private final Consumer<? super T> onOverweight;
+
+    private List<T> batch = new ArrayList<>();
+    private long batchWeight = 0;
+    private final ArrayDeque<List<T>> completed = new ArrayDeque<>();
+    private final Consumer<T> sink = this::accept;
+
+    private WeightedBatchingSpliterator(Spliterator<T> source, ToLongFunction<? super T> weigher, long maxWeight,
+                                        int maxCount, Consumer<? super T> onOverweight) {
+        this.source = source;
+        this.weigher = weigher;
+        this.maxWeight = maxWeight;
+        this.maxCount = maxCount;
+        this.onOverweight = onOverweight;
+    }
+
+    private void accept(T item) {
+        long weight = weigher.applyAsLong(item);
+        if (weight < 0) {
+            throw new IllegalArgumentException("Non-negative weight expected, was: " + weight + " for " + item);
+        }
+
+        if (weight > maxWeight) {
+            if (onOverweight != null) {
+                onOverweight.accept(item);
+                return;
+            }
+            complete();
+            completed.add(Collections.singletonList(item));
+            return;
+        }
+
+        // batchWeight never exceeds maxWeight, so this comparison cannot overflow.
+        if (batch.size() == maxCount || weight > maxWeight - batchWeight) {
+            complete();
+        }
+        batch.add(item);
+        batchWeight += weight;
+    }
+
+    private void complete() {
+        if (!batch.isEmpty()) {
+            completed.add(batch);
+            batch = new ArrayList<>();
+            batchWeight = 0;
+        }
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super List<T>> action) {
+        while (completed.isEmpty() && source.tryAdvance(sink));
+
+        if (completed.isEmpty()) {
+            complete();
+        }
+        if (completed.isEmpty()) {
+            return false;
+        }
+        action.accept(completed.poll());
+        return true;
+    }
+
+    @Override
+    public void forEachRemaining(Consumer<? super List<T>> action) {
+        source.forEachRemaining(item -> {
+            accept(item);
+            while (!completed.isEmpty()) {
+                action.accept(completed.poll());
+            }
+        });
+
+        complete();
+        while (!completed.isEmpty()) {
+            action.accept(completed.poll());
+        }
+    }
+
+    @Override
+    public Spliterator<List<T>> trySplit() {
+        return null;
+    }
+
+    @Override
+    public long estimateSize() {
+        return source.estimateSize();
+    }
+
+    @Override
+    public int characteristics() {
+        return source.characteristics()
+                & ~(Spliterator.SIZED | Spliterator.SUBSIZED | Spliterator.SORTED | Spliterator.DISTINCT | Spliterator.CONCURRENT);
+    }
+}
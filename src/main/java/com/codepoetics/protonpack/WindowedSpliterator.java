@@ -2,31 +2,73 @@ package com.codepoetics.protonpack;
 
 import com.codepoetics.protonpack.comparators.Comparators;
 
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Comparator;
-import java.util.LinkedList;
 import java.util.List;
+import java.util.RandomAccess;
 import java.util.Spliterator;
 import java.util.function.Consumer;
 
 class WindowedSpliterator<T> implements Spliterator<List<T>> {
-    private final Spliterator<T> source;
+
+    static <T> WindowedSpliterator<T> over(Spliterator<T> source, int windowSize, int skip, boolean allowLesserSize) {
+        return new WindowedSpliterator<>(source, windowSize, skip, allowLesserSize, false);
+    }
+
+    static <T> WindowedSpliterator<T> viewing(Spliterator<T> source, int windowSize, int skip) {
+        return new WindowedSpliterator<>(source, windowSize, skip, false, true);
+    }
+
+    private Spliterator<T> source;
     private final int windowSize;
-    private int overlap;
-    private boolean allowLesserSize;
-    List<T> queue = new LinkedList<>();
-    List<T> next = new LinkedList<>();
-    private boolean windowSeeded;
+    private final int skip;
+    private final boolean allowLesserSize;
+    private final boolean reuseView;
 
-  WindowedSpliterator(Spliterator<T> input, int windowSize, int overlap, boolean allowLesserSize) {
-        source = input;
+    // The current window is the count elements of buffer starting at head, wrapping around.
+    private final Object[] buffer;
+    private int head = 0;
+    private int count = 0;
+    private final Consumer<T> append = this::append;
+    private final List<T> view;
+    private boolean windowSeeded;
+    // During bulk traversal, the number of elements still to be read before the next window is complete.
+    private int toRead;
 
+    private WindowedSpliterator(Spliterator<T> source, int windowSize, int skip, boolean allowLesserSize, boolean reuseView) {
+        this.source = source;
         this.windowSize = windowSize;
-        this.overlap = overlap;
+        this.skip = skip;
         this.allowLesserSize = allowLesserSize;
+        this.reuseView = reuseView;
+        this.buffer = new Object[Math.max(windowSize, 0)];
+        this.view = reuseView ? new WindowView() : null;
+    }
+
+    private void append(T item) {
+        int tail = head + count;
+        buffer[tail < windowSize ? tail : tail - windowSize] = item;
+        count++;
+    }
+
+    private void dropFirst() {
+        buffer[head] = null;
+        head = head + 1 < windowSize ? head + 1 : 0;
+        count--;
+    }
+
+    private void clear() {
+        while (count > 0) {
+            dropFirst();
+        }
     }
 
-    static <T> WindowedSpliterator<T> over(Spliterator<T> source, int windowSize, int overlap, boolean allowLesserSize) {
-        return new WindowedSpliterator<>(source, windowSize, overlap, allowLesserSize);
+    @SuppressWarnings("unchecked")
+    private T get(int index) {
+        int position = head + index;
+        return (T) buffer[position < windowSize ? position : position - windowSize];
     }
 
     private boolean hasNext() {
@@ -36,70 +78,147 @@ class WindowedSpliterator<T> implements Spliterator<List<T>> {
             windowSeeded = true;
         }
 
-        return next.size() > 0;
+        return count > 0;
     }
 
-    private void nextWindow() {
-        for (int i = 0; i < overlap; i++) {
-            if(next.isEmpty()){
-                return;
-            }
-
-            next.remove(0);
+    private void seedWindow() {
+        while (count < windowSize && source.tryAdvance(append));
 
-            source.tryAdvance(next::add);
+        if (count != windowSize && !allowLesserSize) {
+            clear();
         }
     }
 
-    private void seedWindow() {
-        int window = windowSize;
-
-        while (source.tryAdvance(next::add)) {
-            window--;
-
-            if (window == 0) {
+    private void nextWindow() {
+        for (int i = 0; i < skip; i++) {
+            if (count == 0) {
                 return;
             }
+
+            dropFirst();
+
+            source.tryAdvance(append);
         }
 
-        if (next.size() != windowSize && !allowLesserSize) {
-            next.clear();
+        if (count != windowSize && !allowLesserSize) {
+            clear();
         }
     }
 
-    private List<T> next() {
-        queue = new LinkedList<>(next);
+    private List<T> copy() {
+        List<T> window = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            window.add(get(i));
+        }
+        return window;
+    }
 
-        nextWindow();
+    @Override
+    public boolean tryAdvance(Consumer<? super List<T>> action) {
+        if (!hasNext()) {
+            return false;
+        }
 
-        if (!allowLesserSize) {
-            if (next.size() != windowSize) {
-                next.clear();
-            }
+        if (reuseView) {
+            action.accept(view);
+            nextWindow();
+        } else {
+            List<T> window = copy();
+            nextWindow();
+            action.accept(window);
         }
+        return true;
+    }
 
-        return queue;
+    private void emit(Consumer<? super List<T>> action) {
+        action.accept(reuseView ? view : copy());
     }
 
+    /**
+     * Pushes the rest of the source through the buffer in a single traversal, handing on each window as it fills,
+     * then finishes off any lesser windows left over when the source runs out.
+     */
     @Override
-    public boolean tryAdvance(Consumer<? super List<T>> action) {
-        if (hasNext()) {
-            action.accept(next());
+    public void forEachRemaining(Consumer<? super List<T>> action) {
+        if (windowSize > 0 && skip > 0 && (!windowSeeded || count == windowSize)) {
+            if (windowSeeded) {
+                emit(action);
+                toRead = skip;
+            } else {
+                windowSeeded = true;
+                toRead = windowSize;
+            }
+
+            source.forEachRemaining(item -> {
+                if (count == windowSize) {
+                    dropFirst();
+                }
+                append(item);
+                if (--toRead == 0) {
+                    emit(action);
+                    toRead = skip;
+                }
+            });
 
-            return true;
+            // Make the moves towards the next window that the source ran out before completing.
+            if (count == windowSize) {
+                for (int i = 0; i < toRead && count > 0; i++) {
+                    dropFirst();
+                }
+            }
+            if (count != windowSize && !allowLesserSize) {
+                clear();
+            }
         }
 
-        return false;
+        while (tryAdvance(action));
     }
 
+    /**
+     * Splits a SUBSIZED source before traversal begins. The prefix takes every window starting before the split
+     * point, and is handed copies of the elements following the split point that its last windows overlap; the
+     * elements between the split point and the start of the first remaining window are dropped from the rest.
+     */
     @Override
     public Spliterator<List<T>> trySplit() {
-        return null;
+        if (windowSeeded || windowSize <= 0 || skip <= 0 || !source.hasCharacteristics(Spliterator.SUBSIZED)) {
+            return null;
+        }
+        Spliterator<T> prefix = source.trySplit();
+        if (prefix == null) {
+            return null;
+        }
+
+        long prefixSize = prefix.getExactSizeIfKnown();
+        long prefixWindows = (prefixSize + skip - 1) / skip;
+        long overlap = Math.max(0, (prefixWindows - 1) * skip + windowSize - prefixSize);
+        long gap = prefixWindows * skip - prefixSize;
+        long lookahead = Math.max(overlap, gap);
+        if (prefixWindows == 0 || lookahead >= source.getExactSizeIfKnown()) {
+            source = ConcatSpliterator.concat(prefix, source);
+            return null;
+        }
+
+        Object[] boundary = new Object[(int) lookahead];
+        for (int i = 0; i < boundary.length; i++) {
+            int index = i;
+            source.tryAdvance(item -> boundary[index] = item);
+        }
+        source = SplicedSpliterator.before(Arrays.copyOfRange(boundary, (int) gap, boundary.length), source);
+        return new WindowedSpliterator<>(
+                SplicedSpliterator.after(prefix, Arrays.copyOf(boundary, (int) overlap)),
+                windowSize, skip, false, reuseView);
     }
 
     @Override
     public long estimateSize() {
+        if (windowSize <= 0) {
+            return 0;
+        }
         long sourceSize = source.estimateSize();
+        if (source.hasCharacteristics(Spliterator.SIZED) && skip > 0) {
+            return windowsIn(count + sourceSize);
+        }
         if (sourceSize == 0) {
             return 0;
         }
@@ -109,9 +228,17 @@ class WindowedSpliterator<T> implements Spliterator<List<T>> {
         return sourceSize - windowSize;
     }
 
+    private long windowsIn(long elements) {
+        if (allowLesserSize) {
+            return elements / skip + (elements % skip == 0 ? 0 : 1);
+        }
+        return elements < windowSize ? 0 : (elements - windowSize) / skip + 1;
+    }
+
     @Override
     public int characteristics() {
-        return source.characteristics() & ~(Spliterator.SIZED | Spliterator.ORDERED);
+        int characteristics = source.characteristics();
+        return skip > 0 ? characteristics : characteristics & ~(Spliterator.SIZED | Spliterator.SUBSIZED);
     }
 
     @Override
@@ -120,4 +247,19 @@ class WindowedSpliterator<T> implements Spliterator<List<T>> {
         return comparator == null ? null : Comparators.toListComparator(comparator);
     }
 
+    private final class WindowView extends AbstractList<T> implements RandomAccess {
+
+        @Override
+        public T get(int index) {
+            if (index < 0 || index >= count) {
+                throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + count);
+            }
+            return WindowedSpliterator.this.get(index);
+        }
+
+        @Override
+        public int size() {
+            return count;
+        }
+    }
 }
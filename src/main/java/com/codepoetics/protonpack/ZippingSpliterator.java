@@ -10,10 +10,13 @@ class ZippingSpliterator<L, R, O> implements Spliterator<O> {
         return new ZippingSpliterator<>(lefts, rights, combiner);
     }
 
-    private final Spliterator<L> lefts;
-    private final Spliterator<R> rights;
+    private Spliterator<L> lefts;
+    private Spliterator<R> rights;
     private final BiFunction<L, R, O> combiner;
-    private boolean rightHadNext = false;
+    private L left;
+    private R right;
+    private final Consumer<L> leftSink = l -> left = l;
+    private final Consumer<R> rightSink = r -> right = r;
 
     private ZippingSpliterator(Spliterator<L> lefts, Spliterator<R> rights, BiFunction<L, R, O> combiner) {
         this.lefts = lefts;
@@ -23,18 +26,51 @@ class ZippingSpliterator<L, R, O> implements Spliterator<O> {
 
     @Override
     public boolean tryAdvance(Consumer<? super O> action) {
-        rightHadNext = false;
-        boolean leftHadNext = lefts.tryAdvance(l ->
-            rights.tryAdvance(r -> {
-                rightHadNext = true;
-                action.accept(combiner.apply(l, r));
-            }));
-        return leftHadNext && rightHadNext;
+        if (lefts.tryAdvance(leftSink) && rights.tryAdvance(rightSink)) {
+            action.accept(combiner.apply(left, right));
+            return true;
+        }
+        return false;
     }
 
+    @Override
+    public void forEachRemaining(Consumer<? super O> action) {
+        long leftSize = lefts.getExactSizeIfKnown();
+        long rightSize = rights.getExactSizeIfKnown();
+        if (leftSize >= 0 && rightSize >= 0) {
+            // Both sizes are known, so the shorter side can be driven in bulk without overrunning the longer one.
+            if (leftSize <= rightSize) {
+                lefts.forEachRemaining(l -> {
+                    if (rights.tryAdvance(rightSink)) {
+                        action.accept(combiner.apply(l, right));
+                    }
+                });
+            } else {
+                rights.forEachRemaining(r -> {
+                    if (lefts.tryAdvance(leftSink)) {
+                        action.accept(combiner.apply(left, r));
+                    }
+                });
+            }
+            return;
+        }
+
+        while (lefts.tryAdvance(leftSink) && rights.tryAdvance(rightSink)) {
+            action.accept(combiner.apply(left, right));
+        }
+    }
+
+    @SuppressWarnings("unchecked")
     @Override
     public Spliterator<O> trySplit() {
-        return null;
+        Spliterator<?>[] sources = { lefts, rights };
+        Spliterator<?>[] prefixes = AlignedSplits.trySplit(sources);
+        lefts = (Spliterator<L>) sources[0];
+        rights = (Spliterator<R>) sources[1];
+
+        return prefixes == null
+                ? null
+                : new ZippingSpliterator<>((Spliterator<L>) prefixes[0], (Spliterator<R>) prefixes[1], combiner);
     }
 
     @Override
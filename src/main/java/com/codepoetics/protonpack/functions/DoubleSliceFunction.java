@@ -0,0 +1,10 @@
+package com.codepoetics.protonpack.functions;
+
+/**
+ * A function applied to the double values values[offset] to values[offset + length - 1] of an array.
+ */
+@FunctionalInterface
+public interface DoubleSliceFunction {
+
+    double applyAsDouble(double[] values, int offset, int length);
+}
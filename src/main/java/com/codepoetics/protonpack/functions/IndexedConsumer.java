@@ -0,0 +1,11 @@
+package com.codepoetics.protonpack.functions;
+
+/**
+ * An action performed on a value and its index in a stream.
+ * @param <T> The type of the value.
+ */
+@FunctionalInterface
+public interface IndexedConsumer<T> {
+
+    void accept(long index, T value);
+}
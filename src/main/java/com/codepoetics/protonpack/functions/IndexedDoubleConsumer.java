@@ -0,0 +1,10 @@
+package com.codepoetics.protonpack.functions;
+
+/**
+ * An action performed on a double value and its index in a stream.
+ */
+@FunctionalInterface
+public interface IndexedDoubleConsumer {
+
+    void accept(long index, double value);
+}
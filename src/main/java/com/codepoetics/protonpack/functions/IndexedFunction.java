@@ -0,0 +1,12 @@
+package com.codepoetics.protonpack.functions;
+
+/**
+ * A function applied to a value and its index in a stream.
+ * @param <T> The type of the value.
+ * @param <R> The type of the result.
+ */
+@FunctionalInterface
+public interface IndexedFunction<T, R> {
+
+    R apply(long index, T value);
+}
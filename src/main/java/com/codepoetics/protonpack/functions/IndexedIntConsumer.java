@@ -0,0 +1,10 @@
+package com.codepoetics.protonpack.functions;
+
+/**
+ * An action performed on an int value and its index in a stream.
+ */
+@FunctionalInterface
+public interface IndexedIntConsumer {
+
+    void accept(long index, int value);
+}
@@ -0,0 +1,11 @@
+package com.codepoetics.protonpack.functions;
+
+/**
+ * A function applied to an int value and its index in a stream.
+ * @param <R> The type of the result.
+ */
+@FunctionalInterface
+public interface IndexedIntFunction<R> {
+
+    R apply(long index, int value);
+}
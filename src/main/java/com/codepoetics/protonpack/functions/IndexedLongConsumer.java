@@ -0,0 +1,10 @@
+package com.codepoetics.protonpack.functions;
+
+/**
+ * An action performed on a long value and its index in a stream.
+ */
+@FunctionalInterface
+public interface IndexedLongConsumer {
+
+    void accept(long index, long value);
+}
@@ -0,0 +1,11 @@
+package com.codepoetics.protonpack.functions;
+
+/**
+ * A function applied to a long value and its index in a stream.
+ * @param <R> The type of the result.
+ */
+@FunctionalInterface
+public interface IndexedLongFunction<R> {
+
+    R apply(long index, long value);
+}
@@ -1,5 +1,6 @@
 package com.codepoetics.protonpack.stateful;
 
+import java.util.List;
 import java.util.Set;
 import java.util.function.BiFunction;
 import java.util.function.Function;
@@ -17,6 +18,10 @@ public final class StateMachines {
   }
 
   public static <T, R> WindowingStateMachine<T, R> windowingStateMachine(int size, Function<Stream<T>, R> reducer) {
+    return new WindowingStateMachine<>(size, window -> reducer.apply(window.stream()));
+  }
+
+  public static <T, R> WindowingStateMachine<T, R> windowingViewStateMachine(int size, Function<? super List<T>, R> reducer) {
     return new WindowingStateMachine<>(size, reducer);
   }
 
@@ -34,6 +34,14 @@ final class StatefulSpliterator<S, I, O> implements Spliterator<Stream<O>> {
 
   }
 
+  @Override
+  public void forEachRemaining(Consumer<? super Stream<O>> action) {
+    Consumer<I> sink = input -> acceptInput(input, action);
+    while (!isFinished
+        && !stateMachine.isTerminal(state)
+        && (inputSpliterator.tryAdvance(sink) || finish(action)));
+  }
+
   private void acceptInput(I input, Consumer<? super Stream<O>> action) {
     Transition<S, O> transition = stateMachine.apply(state, input);
     action.accept(transition.getOutputs());
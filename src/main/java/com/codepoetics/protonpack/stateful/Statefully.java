@@ -2,6 +2,7 @@ package com.codepoetics.protonpack.stateful;
 
 import com.codepoetics.protonpack.Indexed;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 import java.util.function.BiFunction;
@@ -38,6 +39,14 @@ public final class Statefully {
     return Statefully.transform(input, StateMachines.windowingStateMachine(size, reducer));
   }
 
+  /**
+   * Like {@link #window(Stream, int, Function)}, but passes the reducer a read-only view of the window, oldest first,
+   * which is only valid for the duration of the call.
+   */
+  public static <T, R> Stream<R> windowView(Stream<T> input, int size, Function<? super List<T>, R> reducer) {
+    return Statefully.transform(input, StateMachines.windowingViewStateMachine(size, reducer));
+  }
+
   public static <T> Stream<Indexed<T>> index(Stream<T> input) {
     return Statefully.transform(
         input,
@@ -1,56 +1,72 @@
 package com.codepoetics.protonpack.stateful;
 
-import java.util.ArrayList;
+import java.util.AbstractList;
 import java.util.List;
+import java.util.RandomAccess;
 import java.util.function.Function;
-import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
+/**
+ * The most recent items seen by a {@link WindowingStateMachine}, kept in a ring buffer which is updated in place
+ * rather than copied on every item.
+ */
 final class Window<T> {
 
   static <T> Window<T> initialise(int size) {
-    List<T> initialContents = new ArrayList<>(size);
-    IntStream.range(0, size).forEach(i -> initialContents.add(null));
-    return new Window<>(size, 0, 0, initialContents);
+    return new Window<>(size);
   }
 
   private final int size;
-  private final int count;
-  private final int index;
-  private final List<T> contents;
+  private final Object[] contents;
+  private int count = 0;
+  private int index = 0;
+  private final List<T> view = new View();
 
-  private Window(int size, int count, int index, List<T> contents) {
+  private Window(int size) {
     this.size = size;
-    this.count = count;
-    this.index = index;
-    this.contents = contents;
+    this.contents = new Object[size];
   }
 
   Window<T> add(T item) {
-    List<T> newContents = new ArrayList<>(contents);
-    newContents.set(index, item);
+    contents[index] = item;
 
-    int newIndex = index + 1;
-    if (newIndex == size) {
-      newIndex = 0;
+    index++;
+    if (index == size) {
+      index = 0;
     }
 
-    int newCount = count + 1;
-    if (newCount > size) {
-      newCount = size;
+    if (count < size) {
+      count++;
     }
 
-    return new Window<>(size, newCount, newIndex, newContents);
+    return this;
   }
 
-  <R> Stream<R> reduce(Function<Stream<T>, R> reducer) {
+  <R> Stream<R> reduce(Function<? super List<T>, R> reducer) {
     if (count < size) {
       return Stream.empty();
     }
-    try (Stream<T> windowStream = Stream.concat(
-        IntStream.range(index, size).mapToObj(contents::get),
-        IntStream.range(0, index).mapToObj(contents::get))) {
-      return Stream.of(reducer.apply(windowStream));
+    return Stream.of(reducer.apply(view));
+  }
+
+  /**
+   * A read-only view of the window, oldest item first, which is only valid until the next item is added.
+   */
+  private final class View extends AbstractList<T> implements RandomAccess {
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public T get(int i) {
+      if (i < 0 || i >= count) {
+        throw new IndexOutOfBoundsException("Index: " + i + ", Size: " + count);
+      }
+      int position = index + i;
+      return (T) contents[position < size ? position : position - size];
+    }
+
+    @Override
+    public int size() {
+      return count;
     }
   }
 }
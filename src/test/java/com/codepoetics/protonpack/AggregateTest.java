@@ -2,9 +2,13 @@ package com.codepoetics.protonpack;
 
 import org.junit.Test;
 
+import java.util.AbstractList;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.RandomAccess;
+import java.util.Spliterator;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
 import static java.util.Arrays.asList;
@@ -78,4 +82,134 @@ public class AggregateTest {
                 asList("c", "c")
         ));
     }
+
+    @Test public void
+    aggregate_random_access_list_on_size() {
+        List<String> source = asList("a1", "b1", "b2", "c1", "c2");
+        assertThat(StreamUtils.aggregate(source, 2).collect(toList()), contains(
+                asList("a1", "b1"),
+                asList("b2", "c1"),
+                Collections.singletonList("c2")));
+    }
+
+    @Test public void
+    aggregate_large_random_access_list_in_parallel() {
+        List<Integer> source = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            source.add(i);
+        }
+
+        List<List<Integer>> aggregated = StreamUtils.aggregate(source, 7).parallel().collect(toList());
+
+        assertThat(aggregated, equalTo(StreamUtils.aggregate(source.stream(), 7).collect(toList())));
+    }
+
+    @Test public void
+    aggregate_parallel_sized_stream_to_fixed_size() {
+        List<Integer> source = IntStream.range(0, 1000).boxed().collect(toList());
+
+        assertThat(StreamUtils.aggregate(source.parallelStream(), 7).collect(toList()),
+                equalTo(StreamUtils.aggregate(source.stream(), 7).collect(toList())));
+    }
+
+    @Test public void
+    aggregate_to_fixed_size_splits_on_batch_boundaries() {
+        Spliterator<List<Integer>> batches = StreamUtils.aggregate(
+                IntStream.range(0, 100).boxed().collect(toList()).stream(), 7).spliterator();
+
+        assertThat(batches.getExactSizeIfKnown(), equalTo(15L));
+
+        Spliterator<List<Integer>> prefix = batches.trySplit();
+        assertThat(prefix.getExactSizeIfKnown() + batches.getExactSizeIfKnown(), equalTo(15L));
+
+        List<List<Integer>> collected = new ArrayList<>();
+        prefix.forEachRemaining(collected::add);
+        batches.tryAdvance(collected::add);
+        batches.forEachRemaining(collected::add);
+        assertThat(collected, equalTo(StreamUtils.aggregate(IntStream.range(0, 100).boxed(), 7).collect(toList())));
+        assertThat(collected.get(14), contains(98, 99));
+    }
+
+    @Test public void
+    aggregate_parallel_sized_stream_on_bi_element_predicate() {
+        List<Integer> source = IntStream.range(0, 10000).map(i -> i / 10 + i % 3).boxed().collect(toList());
+
+        assertThat(StreamUtils.aggregate(source.parallelStream(), (e1, e2) -> e2 >= e1).collect(toList()),
+                equalTo(StreamUtils.aggregate(source.stream(), (e1, e2) -> e2 >= e1).collect(toList())));
+    }
+
+    @Test public void
+    aggregate_random_access_list_with_batches_near_int_range() {
+        List<Integer> huge = new HugeList();
+
+        List<Integer> batchSizes = StreamUtils.aggregate(huge, Integer.MAX_VALUE - 1)
+                .map(List::size)
+                .collect(toList());
+
+        assertThat(batchSizes, contains(Integer.MAX_VALUE - 1, 1));
+    }
+
+    @Test public void
+    aggregate_continues_in_bulk_after_advancing_singly() {
+        Spliterator<List<String>> aggregated = StreamUtils.aggregate(
+                Stream.of("a1", "b1", "b2", "c1", "c2", "c3"),
+                (e1, e2) -> e1.charAt(0) == e2.charAt(0))
+                .spliterator();
+
+        List<List<String>> collected = new ArrayList<>();
+        aggregated.tryAdvance(collected::add);
+        aggregated.forEachRemaining(collected::add);
+
+        assertThat(collected, contains(
+                Collections.singletonList("a1"),
+                asList("b1", "b2"),
+                asList("c1", "c2", "c3")));
+    }
+
+    @Test public void
+    batch_by_weight_and_count() {
+        Stream<String> stream = Stream.of("aaaa", "bb", "cc", "d", "e", "f", "g", "hhh");
+
+        assertThat(StreamUtils.batchByWeight(stream, String::length, 6, 3).collect(toList()), contains(
+                asList("aaaa", "bb"),
+                asList("cc", "d", "e"),
+                asList("f", "g", "hhh")));
+    }
+
+    @Test public void
+    batch_by_weight_gives_overweight_items_their_own_batch() {
+        Stream<String> stream = Stream.of("a", "bbbbbbbb", "c", "d");
+
+        assertThat(StreamUtils.batchByWeight(stream, String::length, 4, 10).collect(toList()), contains(
+                Collections.singletonList("a"),
+                Collections.singletonList("bbbbbbbb"),
+                asList("c", "d")));
+    }
+
+    @Test public void
+    batch_by_weight_passes_overweight_items_to_handler() {
+        List<String> overweight = new ArrayList<>();
+        Spliterator<List<String>> batches = StreamUtils.batchByWeight(
+                Stream.of("a", "bbbbbbbb", "c", "dddd", "e"), String::length, 4, 10, overweight::add)
+                .spliterator();
+
+        List<List<String>> collected = new ArrayList<>();
+        batches.tryAdvance(collected::add);
+        batches.forEachRemaining(collected::add);
+
+        assertThat(collected, contains(asList("a", "c"), Collections.singletonList("dddd"), Collections.singletonList("e")));
+        assertThat(overweight, contains("bbbbbbbb"));
+    }
+
+    private static final class HugeList extends AbstractList<Integer> implements RandomAccess {
+        @Override
+        public Integer get(int index) {
+            return index;
+        }
+
+        @Override
+        public int size() {
+            return Integer.MAX_VALUE;
+        }
+    }
 }
@@ -3,13 +3,17 @@ package com.codepoetics.protonpack;
 import org.junit.Test;
 
 import java.util.List;
+import java.util.Spliterator;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import static com.codepoetics.protonpack.StreamUtils.cycle;
+import static com.codepoetics.protonpack.StreamUtils.cycleInts;
+import static com.codepoetics.protonpack.StreamUtils.cycleLongs;
 import static com.codepoetics.protonpack.StreamUtils.zip;
 import static java.util.stream.IntStream.range;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.equalTo;
 
 public class CycleTest {
@@ -35,4 +39,39 @@ public class CycleTest {
     assertThat(fizzBuzzAt.apply(11), equalTo("11"));
     assertThat(fizzBuzzAt.apply(15), equalTo("FizzBuzz"));
   }
+
+  @Test
+  public void
+  cycles_in_parallel_in_order() {
+    List<String> cycled = cycle("a", "b", "c").parallel().limit(100000).collect(Collectors.toList());
+
+    assertThat(cycled.size(), equalTo(100000));
+    assertThat(cycled.subList(99997, 100000), contains("b", "c", "a"));
+    assertThat(cycled.stream().filter("a"::equals).count(), equalTo(33334L));
+  }
+
+  @Test
+  public void
+  cycling_nothing_is_empty() {
+    assertThat(cycle().count(), equalTo(0L));
+    assertThat(cycleInts().count(), equalTo(0L));
+  }
+
+  @Test
+  public void
+  cycles_primitives() {
+    assertThat(cycleInts(0, 1, 2).limit(7).toArray(), equalTo(new int[] { 0, 1, 2, 0, 1, 2, 0 }));
+    assertThat(cycleLongs(5L, 6L).limit(5).toArray(), equalTo(new long[] { 5L, 6L, 5L, 6L, 5L }));
+  }
+
+  @Test
+  public void
+  indices_split_for_parallel_execution() {
+    Spliterator.OfLong indices = StreamUtils.indices().spliterator();
+
+    assertThat(indices.hasCharacteristics(Spliterator.SUBSIZED), equalTo(true));
+    Spliterator.OfLong prefix = indices.trySplit();
+    assertThat(prefix.estimateSize() + indices.estimateSize(), equalTo(Long.MAX_VALUE));
+    assertThat(StreamUtils.indices().parallel().limit(1000).sum(), equalTo(499500L));
+  }
 }
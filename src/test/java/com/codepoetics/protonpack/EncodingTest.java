@@ -0,0 +1,53 @@
+package com.codepoetics.protonpack;
+
+import org.junit.Test;
+
+import java.util.List;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+import static java.util.stream.Collectors.toList;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+
+public class EncodingTest {
+
+    @Test public void
+    run_length_encodes_repeated_values() {
+        assertThat(StreamUtils.runLengthEncode(Stream.of("a", "a", "a", "b", "a", "a")).collect(toList()), contains(
+                RunLength.run("a", 3),
+                RunLength.run("b", 1),
+                RunLength.run("a", 2)));
+        assertThat(StreamUtils.runLengthEncode(Stream.empty()).count(), equalTo(0L));
+    }
+
+    @Test public void
+    run_length_decode_reverses_encode() {
+        List<Integer> source = IntStream.range(0, 10000).map(i -> i / 7 % 5).boxed().collect(toList());
+
+        assertThat(StreamUtils.runLengthDecode(StreamUtils.runLengthEncode(source.stream())).collect(toList()),
+                equalTo(source));
+        assertThat(StreamUtils.runLengthEncode(source.parallelStream()).collect(toList()),
+                equalTo(StreamUtils.runLengthEncode(source.stream()).collect(toList())));
+    }
+
+    @Test public void
+    delta_encodes_ints() {
+        assertThat(StreamUtils.deltaEncode(IntStream.of(100, 101, 103, 103, 99)).boxed().collect(toList()),
+                contains(100, 1, 2, 0, -4));
+        assertThat(StreamUtils.deltaDecode(IntStream.of(100, 1, 2, 0, -4)).boxed().collect(toList()),
+                contains(100, 101, 103, 103, 99));
+    }
+
+    @Test public void
+    delta_decode_reverses_encode_across_overflow() {
+        long[] values = { Long.MIN_VALUE, Long.MAX_VALUE, 0, -1, Long.MAX_VALUE };
+
+        assertThat(StreamUtils.deltaDecode(StreamUtils.deltaEncode(LongStream.of(values))).toArray(),
+                equalTo(values));
+        assertThat(StreamUtils.deltaDecode(StreamUtils.deltaEncode(IntStream.of(Integer.MIN_VALUE, Integer.MAX_VALUE))).toArray(),
+                equalTo(new int[] { Integer.MIN_VALUE, Integer.MAX_VALUE }));
+    }
+}
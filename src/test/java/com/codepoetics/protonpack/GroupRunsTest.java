@@ -5,12 +5,17 @@ import org.junit.Test;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Spliterator;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
 import static java.util.Arrays.asList;
+import static java.util.stream.Collectors.counting;
+import static java.util.stream.Collectors.joining;
 import static java.util.stream.Collectors.toList;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.iterableWithSize;
 
 public class GroupRunsTest {
@@ -52,4 +57,48 @@ public class GroupRunsTest {
         assertThat(runs, iterableWithSize(0));
     }
 
+    @Test
+    public void
+    group_runs_continues_in_bulk_after_advancing_singly() {
+        Spliterator<List<Integer>> runs = StreamUtils.groupRuns(Stream.of(1, 1, 2, 2, 2, 3, 1, 1)).spliterator();
+
+        List<List<Integer>> collected = new ArrayList<>();
+        runs.tryAdvance(collected::add);
+        runs.forEachRemaining(collected::add);
+
+        assertThat(collected, contains(
+                asList(1, 1),
+                asList(2, 2, 2),
+                Collections.singletonList(3),
+                asList(1, 1)));
+    }
+
+    @Test
+    public void
+    group_runs_into_a_collector() {
+        List<Long> counts = StreamUtils.groupRuns(Stream.of(1, 1, 2, 3, 4, 4), Integer::compare, counting())
+                .collect(toList());
+
+        assertThat(counts, contains(2L, 1L, 1L, 2L));
+    }
+
+    @Test
+    public void
+    group_runs_by_key_into_a_collector() {
+        List<String> runs = StreamUtils.groupRunsBy(Stream.of("a1", "a2", "b1", "a3"), s -> s.charAt(0), joining(","))
+                .collect(toList());
+
+        assertThat(runs, contains("a1,a2", "b1", "a3"));
+    }
+
+    @Test
+    public void
+    group_runs_of_a_parallel_sized_stream_matches_sequential() {
+        List<Integer> source = IntStream.range(0, 10000).map(i -> i / 37).boxed().collect(toList());
+
+        assertThat(StreamUtils.groupRuns(source.parallelStream(), Integer::compare, toList()).collect(toList()),
+                equalTo(StreamUtils.groupRuns(source.stream()).collect(toList())));
+        assertThat(StreamUtils.groupRunsBy(source.parallelStream(), i -> i / 3, counting()).collect(toList()),
+                equalTo(StreamUtils.groupRunsBy(source.stream(), i -> i / 3, counting()).collect(toList())));
+    }
 }
@@ -0,0 +1,67 @@
+package com.codepoetics.protonpack;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.DoubleStream;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+
+public class MapWithIndexTest {
+
+    @Test public void
+    maps_a_stream_with_index() {
+        Stream<String> source = Stream.of("Foo", "Bar", "Baz");
+
+        List<String> mapped = StreamUtils.mapWithIndex(source, (i, s) -> i + ":" + s).collect(Collectors.toList());
+
+        assertThat(mapped, contains("0:Foo", "1:Bar", "2:Baz"));
+    }
+
+    @Test public void
+    maps_primitive_streams_with_index() {
+        assertThat(StreamUtils.mapWithIndex(IntStream.of(5, 6), (i, v) -> i * v).collect(Collectors.toList()),
+                contains(0L, 6L));
+        assertThat(StreamUtils.mapWithIndex(LongStream.of(5, 6), (i, v) -> i + v).collect(Collectors.toList()),
+                contains(5L, 7L));
+        assertThat(StreamUtils.mapWithIndex(DoubleStream.of(0.5, 1.5), (i, v) -> i + v).collect(Collectors.toList()),
+                contains(0.5, 2.5));
+    }
+
+    @Test public void
+    maps_a_parallel_stream_with_index_in_order() {
+        List<Integer> source = IntStream.range(0, 10000).boxed().collect(Collectors.toList());
+
+        List<Long> mapped = StreamUtils.mapWithIndex(source.parallelStream(), (i, v) -> i - v).collect(Collectors.toList());
+
+        assertThat(mapped, equalTo(LongStream.range(0, 10000).map(i -> 0L).boxed().collect(Collectors.toList())));
+    }
+
+    @Test public void
+    performs_an_action_with_index() {
+        List<String> seen = new ArrayList<>();
+
+        StreamUtils.forEachWithIndex(Stream.of("a", "b", "c"), (i, s) -> seen.add(i + s));
+        StreamUtils.forEachWithIndex(IntStream.of(7), (i, v) -> seen.add(i + ":" + v));
+        StreamUtils.forEachWithIndex(LongStream.of(8), (i, v) -> seen.add(i + ":" + v));
+        StreamUtils.forEachWithIndex(DoubleStream.of(9), (i, v) -> seen.add(i + ":" + v));
+
+        assertThat(seen, contains("0a", "1b", "2c", "0:7", "0:8", "0:9.0"));
+    }
+
+    @Test public void
+    performs_an_action_with_index_in_encounter_order_on_a_parallel_stream() {
+        List<Long> seen = new ArrayList<>();
+
+        StreamUtils.forEachWithIndex(IntStream.range(0, 10000).parallel(), (i, v) -> seen.add(i - v));
+
+        assertThat(seen, equalTo(LongStream.range(0, 10000).map(i -> 0L).boxed().collect(Collectors.toList())));
+    }
+}
@@ -0,0 +1,85 @@
+package com.codepoetics.protonpack;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Spliterator;
+import java.util.stream.Collectors;
+import java.util.stream.DoubleStream;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+
+public class PrimitiveWindowedTest {
+
+    private static double mean(double[] values, int offset, int length) {
+        double sum = 0;
+        for (int i = offset; i < offset + length; i++) {
+            sum += values[i];
+        }
+        return sum / length;
+    }
+
+    @Test public void
+    computes_a_moving_average_over_slices() {
+        double[] averages = StreamUtils.windowedDoubles(DoubleStream.of(1, 2, 3, 4, 5, 6), 3, 1,
+                PrimitiveWindowedTest::mean).toArray();
+
+        assertThat(averages, equalTo(new double[] { 2, 3, 4, 5 }));
+    }
+
+    @Test public void
+    computes_a_moving_sum_by_accumulation() {
+        long[] sums = StreamUtils.windowedLongs(LongStream.rangeClosed(1, 6), 2, 2, 0L, Long::sum, (s, l) -> s - l)
+                .toArray();
+
+        assertThat(sums, equalTo(new long[] { 3, 7, 11 }));
+    }
+
+    @Test public void
+    slices_match_boxed_windows() {
+        List<Integer> values = new Random(42).ints(300, -100, 100).boxed().collect(Collectors.toList());
+
+        for (int size = 1; size < 10; size++) {
+            for (int skip = 1; skip < 13; skip++) {
+                List<Integer> expectedFirsts = StreamUtils.windowed(values.stream(), size, skip)
+                        .map(window -> window.get(0) * 1000 + window.get(window.size() - 1))
+                        .collect(Collectors.toList());
+                List<Integer> expectedSums = StreamUtils.windowed(values.stream(), size, skip)
+                        .map(window -> window.stream().mapToInt(Integer::intValue).sum())
+                        .collect(Collectors.toList());
+
+                IntStream source = values.stream().mapToInt(Integer::intValue);
+                assertThat(StreamUtils.windowedInts(source, size, skip,
+                        (window, offset, length) -> window[offset] * 1000 + window[offset + length - 1])
+                        .boxed().collect(Collectors.toList()), equalTo(expectedFirsts));
+
+                IntStream sumSource = values.stream().mapToInt(Integer::intValue);
+                assertThat(StreamUtils.windowedInts(sumSource, size, skip, 0, Integer::sum, (s, i) -> s - i)
+                        .boxed().collect(Collectors.toList()), equalTo(expectedSums));
+            }
+        }
+    }
+
+    @Test public void
+    finishes_in_bulk_after_advancing_one_window_at_a_time() {
+        Spliterator.OfLong sums = StreamUtils.windowedLongs(LongStream.rangeClosed(1, 7), 3, 2, 0L, Long::sum, (s, l) -> s - l)
+                .spliterator();
+        List<Long> collected = new ArrayList<>();
+
+        sums.tryAdvance((long sum) -> collected.add(sum));
+        sums.forEachRemaining((long sum) -> collected.add(sum));
+
+        assertThat(collected, contains(6L, 12L, 18L));
+    }
+
+    @Test public void
+    streams_nothing_when_there_is_no_complete_window() {
+        assertThat(StreamUtils.windowedInts(IntStream.of(1, 2), 3, 1, (values, offset, length) -> 0).count(), equalTo(0L));
+    }
+}
@@ -2,12 +2,17 @@ package com.codepoetics.protonpack;
 
 import org.junit.Test;
 
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedList;
 import java.util.List;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
 
 public class SkipWhileTest {
 
@@ -60,4 +65,52 @@ public class SkipWhileTest {
 
         assertThat(collected, contains(4, 5));
     }
+
+    @Test public void
+    skip_while_over_a_parallel_sized_stream_keeps_encounter_order() {
+        List<Integer> ints = IntStream.range(0, 100000).boxed().collect(Collectors.toList());
+
+        for (int cut : new int[] { 0, 1, 777, 50000, 99999, 100000 }) {
+            List<Integer> expected = IntStream.range(cut, 100000).boxed().collect(Collectors.toList());
+
+            Stream<Integer> skipped = StreamUtils.skipWhile(ints.parallelStream(), i -> i < cut);
+
+            assertThat(skipped.isParallel(), equalTo(true));
+            assertThat(skipped.collect(Collectors.toList()), equalTo(expected));
+        }
+    }
+
+    @Test public void
+    skip_until_inclusive_over_a_parallel_sized_stream_drops_the_first_condition_meeter() {
+        List<Integer> ints = IntStream.range(0, 100000).boxed().collect(Collectors.toList());
+
+        assertThat(StreamUtils.skipUntilInclusive(ints.parallelStream(), i -> i % 1000 == 999).collect(Collectors.toList()),
+                equalTo(IntStream.range(1000, 100000).boxed().collect(Collectors.toList())));
+        assertThat(StreamUtils.skipUntil(ints.parallelStream(), i -> i > 200000).count(), equalTo(0L));
+    }
+
+    @Test public void
+    skip_inclusive_over_a_parallel_sized_stream_with_no_match_keeps_nothing() {
+        List<Integer> ints = IntStream.range(0, 1000).boxed().collect(Collectors.toList());
+
+        assertThat(StreamUtils.skipUntilInclusive(ints.parallelStream(), i -> i > 2000).count(), equalTo(0L));
+        assertThat(StreamUtils.skipWhileInclusive(ints.parallelStream(), i -> i < 2000).count(), equalTo(0L));
+    }
+
+    @Test public void
+    skip_until_sorted_seeks_to_the_first_matching_item() {
+        List<Integer> sorted = Arrays.asList(1, 3, 3, 5, 7, 9);
+
+        assertThat(StreamUtils.skipUntilSorted(sorted, i -> i >= 3).collect(Collectors.toList()), contains(3, 3, 5, 7, 9));
+        assertThat(StreamUtils.skipUntilSorted(sorted, 4, Comparator.naturalOrder()).collect(Collectors.toList()), contains(5, 7, 9));
+        assertThat(StreamUtils.skipUntilSorted(sorted, 10, Comparator.naturalOrder()).count(), equalTo(0L));
+        assertThat(StreamUtils.skipUntilSorted(sorted, 0, Comparator.naturalOrder()).count(), equalTo(6L));
+    }
+
+    @Test public void
+    skip_until_sorted_scans_sequential_access_lists() {
+        List<Integer> sorted = new LinkedList<>(Arrays.asList(1, 3, 3, 5, 7, 9));
+
+        assertThat(StreamUtils.skipUntilSorted(sorted, 3, Comparator.naturalOrder()).collect(Collectors.toList()), contains(3, 3, 5, 7, 9));
+    }
 }
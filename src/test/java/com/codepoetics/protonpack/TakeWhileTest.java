@@ -2,10 +2,17 @@ package com.codepoetics.protonpack;
 
 import org.junit.Test;
 
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedList;
+import java.util.List;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.hasSize;
 
 public class TakeWhileTest {
@@ -42,4 +49,37 @@ public class TakeWhileTest {
         assertThat(finiteInts.collect(Collectors.toList()), hasSize(12));
     }
 
+    @Test public void
+    take_while_over_a_parallel_sized_stream_keeps_encounter_order() {
+        List<Integer> ints = IntStream.range(0, 100000).boxed().collect(Collectors.toList());
+
+        for (int cut : new int[] { 0, 1, 777, 50000, 99999, 100000 }) {
+            List<Integer> expected = IntStream.range(0, cut).boxed().collect(Collectors.toList());
+
+            Stream<Integer> taken = StreamUtils.takeWhile(ints.parallelStream(), i -> i < cut);
+
+            assertThat(taken.isParallel(), equalTo(true));
+            assertThat(taken.collect(Collectors.toList()), equalTo(expected));
+        }
+    }
+
+    @Test public void
+    take_while_inclusive_over_a_parallel_sized_stream_includes_the_first_condition_breaker() {
+        List<Integer> ints = IntStream.range(0, 100000).boxed().collect(Collectors.toList());
+
+        assertThat(StreamUtils.takeWhileInclusive(ints.parallelStream(), i -> i < 60000).collect(Collectors.toList()),
+                equalTo(IntStream.rangeClosed(0, 60000).boxed().collect(Collectors.toList())));
+        assertThat(StreamUtils.takeUntilInclusive(ints.parallelStream(), i -> i % 1000 == 999).collect(Collectors.toList()),
+                equalTo(IntStream.rangeClosed(0, 999).boxed().collect(Collectors.toList())));
+    }
+
+    @Test public void
+    take_while_sorted_stops_before_the_first_failing_item() {
+        List<Integer> sorted = Arrays.asList(1, 3, 3, 5, 7, 9);
+
+        assertThat(StreamUtils.takeWhileSorted(sorted, i -> i <= 3).collect(Collectors.toList()), contains(1, 3, 3));
+        assertThat(StreamUtils.takeWhileSorted(sorted, 7, Comparator.naturalOrder()).collect(Collectors.toList()), contains(1, 3, 3, 5));
+        assertThat(StreamUtils.takeWhileSorted(sorted, 0, Comparator.naturalOrder()).count(), equalTo(0L));
+        assertThat(StreamUtils.takeWhileSorted(new LinkedList<>(sorted), 7, Comparator.naturalOrder()).collect(Collectors.toList()), contains(1, 3, 3, 5));
+    }
 }
@@ -0,0 +1,83 @@
+package com.codepoetics.protonpack;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+
+public class TimeWindowsTest {
+
+    @Test public void
+    tumbling_windows() {
+        Stream<Long> timestamps = Stream.of(1L, 3L, 9L, 10L, 14L, 31L);
+
+        assertThat(StreamUtils.timeWindows(timestamps, Long::longValue, 10, 10).collect(Collectors.toList()), contains(
+                TimeWindow.window(0, 10, asList(1L, 3L, 9L)),
+                TimeWindow.window(10, 20, asList(10L, 14L)),
+                TimeWindow.window(30, 40, singletonList(31L))));
+    }
+
+    @Test public void
+    sliding_windows() {
+        Stream<Long> timestamps = Stream.of(1L, 4L, 6L, 12L);
+
+        assertThat(StreamUtils.timeWindows(timestamps, Long::longValue, 10, 5).collect(Collectors.toList()), contains(
+                TimeWindow.window(-5, 5, asList(1L, 4L)),
+                TimeWindow.window(0, 10, asList(1L, 4L, 6L)),
+                TimeWindow.window(5, 15, asList(6L, 12L)),
+                TimeWindow.window(10, 20, singletonList(12L))));
+    }
+
+    @Test public void
+    streams_each_window_as_soon_as_the_stream_passes_its_end() {
+        List<Long> read = new ArrayList<>();
+        Stream<Long> timestamps = Stream.of(1L, 2L, 11L, 12L, 25L).peek(read::add);
+
+        Spliterator<TimeWindow<Long>> windows = StreamUtils.timeWindows(timestamps, Long::longValue, 10, 10, Collectors.counting())
+                .spliterator();
+
+        windows.tryAdvance(window -> assertThat(window, equalTo(TimeWindow.window(0, 10, 2L))));
+        assertThat(read, contains(1L, 2L, 11L));
+    }
+
+    @Test public void
+    collects_window_contents_downstream() {
+        Stream<String> events = Stream.of("a:1", "b:2", "a:7", "c:12");
+
+        List<TimeWindow<Long>> counts = StreamUtils.timeWindows(events, e -> Long.parseLong(e.substring(2)), 5, 5,
+                Collectors.counting()).collect(Collectors.toList());
+
+        assertThat(counts, contains(
+                TimeWindow.window(0, 5, 2L),
+                TimeWindow.window(5, 10, 1L),
+                TimeWindow.window(10, 15, 1L)));
+    }
+
+    @Test public void
+    session_windows() {
+        Stream<Long> timestamps = Stream.of(1L, 3L, 5L, 20L, 22L, 40L);
+
+        assertThat(StreamUtils.sessionWindows(timestamps, Long::longValue, 5).collect(Collectors.toList()), contains(
+                TimeWindow.window(1, 10, asList(1L, 3L, 5L)),
+                TimeWindow.window(20, 27, asList(20L, 22L)),
+                TimeWindow.window(40, 45, singletonList(40L))));
+    }
+
+    @Test public void
+    session_windows_with_a_downstream_collector() {
+        Stream<Long> timestamps = Stream.of(1L, 3L, 5L, 20L, 22L);
+
+        assertThat(StreamUtils.sessionWindows(timestamps, Long::longValue, 5, Collectors.summingLong(Long::longValue))
+                .map(TimeWindow::getContents)
+                .collect(Collectors.toList()), contains(9L, 42L));
+    }
+}
@@ -2,12 +2,25 @@ package com.codepoetics.protonpack;
 
 import org.junit.Test;
 
+import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiFunction;
+import java.util.function.UnaryOperator;
 import java.util.stream.Collectors;
+import java.util.stream.LongStream;
 import java.util.stream.Stream;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.lessThan;
+import static org.hamcrest.Matchers.not;
 
 public class UnfoldTest {
 
@@ -18,4 +31,116 @@ public class UnfoldTest {
         assertThat(unfolded.collect(Collectors.toList()), contains(1, 2, 3, 4, 5, 6, 7, 8, 9, 10));
     }
 
+    @Test
+    public void unfolds_a_seed_until_null_is_returned() {
+        Stream<Integer> unfolded = StreamUtils.unfoldNullable(1, i -> (i < 10) ? i + 1 : null);
+
+        assertThat(unfolded.collect(Collectors.toList()), contains(1, 2, 3, 4, 5, 6, 7, 8, 9, 10));
+        assertThat(StreamUtils.unfoldNullable(null, i -> i).count(), equalTo(0L));
+    }
+
+    @Test
+    public void unfolds_primitives_while_the_condition_holds() {
+        assertThat(StreamUtils.unfoldInt(1, i -> i * 2, i -> i < 100).toArray(), equalTo(new int[] { 1, 2, 4, 8, 16, 32, 64 }));
+        assertThat(StreamUtils.unfoldLong(10L, l -> l - 3, l -> l > 0).toArray(), equalTo(new long[] { 10L, 7L, 4L, 1L }));
+        assertThat(StreamUtils.unfoldDouble(1.0, d -> d / 2, d -> d > 0.1).toArray(), equalTo(new double[] { 1.0, 0.5, 0.25, 0.125 }));
+        assertThat(StreamUtils.unfoldInt(0, i -> i + 1, i -> false).count(), equalTo(0L));
+    }
+
+    @Test
+    public void unfolds_primitives_one_at_a_time() {
+        assertThat(StreamUtils.unfoldInt(0, i -> i + 1, i -> i < 1000).limit(3).toArray(), equalTo(new int[] { 0, 1, 2 }));
+    }
+
+    @Test
+    public void unfolds_with_jumps_in_parallel_in_order() {
+        List<Long> unfolded = StreamUtils.unfold(3L, l -> l + 2, (l, n) -> l + 2 * n)
+                .parallel()
+                .limit(100000)
+                .collect(Collectors.toList());
+
+        assertThat(unfolded, equalTo(LongStream.range(0, 100000).map(i -> 3 + 2 * i).boxed().collect(Collectors.toList())));
+    }
+
+    @Test
+    public void unfolds_a_seekable_generator_identically_in_parallel() {
+        long multiplier = 6364136223846793005L;
+        long increment = 1442695040888963407L;
+        UnaryOperator<Long> next = x -> x * multiplier + increment;
+        BiFunction<Long, Long, Long> jump = (x, n) -> {
+            // Brown's jump-ahead for linear congruential generators.
+            long accMultiplier = 1, accIncrement = 0, curMultiplier = multiplier, curIncrement = increment;
+            for (long steps = n; steps > 0; steps >>>= 1) {
+                if ((steps & 1) != 0) {
+                    accMultiplier *= curMultiplier;
+                    accIncrement = accIncrement * curMultiplier + curIncrement;
+                }
+                curIncrement = (curMultiplier + 1) * curIncrement;
+                curMultiplier *= curMultiplier;
+            }
+            return accMultiplier * x + accIncrement;
+        };
+
+        List<Long> sequential = StreamUtils.unfold(42L, next, jump).limit(10000).collect(Collectors.toList());
+        List<Long> parallel = StreamUtils.unfold(42L, next, jump).parallel().limit(10000).collect(Collectors.toList());
+
+        assertThat(parallel, equalTo(sequential));
+        assertThat(sequential.get(1), equalTo(next.apply(42L)));
+    }
+
+    @Test
+    public void unfolds_asynchronously_ahead_of_the_consumer() {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Thread consumer = Thread.currentThread();
+            List<Thread> generatingThreads = new CopyOnWriteArrayList<>();
+
+            try (Stream<Integer> unfolded = StreamUtils.unfoldAsync(1, i -> {
+                generatingThreads.add(Thread.currentThread());
+                return (i < 10) ? Optional.of(i + 1) : Optional.empty();
+            }, 3, executor)) {
+                assertThat(unfolded.collect(Collectors.toList()), contains(1, 2, 3, 4, 5, 6, 7, 8, 9, 10));
+            }
+
+            assertThat(generatingThreads, not(hasItem(consumer)));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void closing_an_asynchronous_unfold_cancels_generation() throws InterruptedException {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            AtomicInteger generated = new AtomicInteger();
+
+            try (Stream<Integer> unfolded = StreamUtils.unfoldAsync(1, i -> {
+                generated.incrementAndGet();
+                return Optional.of(i + 1);
+            }, 2, executor)) {
+                assertThat(unfolded.limit(5).collect(Collectors.toList()), contains(1, 2, 3, 4, 5));
+            }
+
+            executor.shutdown();
+            assertThat(executor.awaitTermination(5, TimeUnit.SECONDS), equalTo(true));
+            assertThat(generated.get(), lessThan(10));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test(timeout = 5000)
+    public void an_asynchronous_unfold_ended_early_leaves_no_thread_behind() {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Stream<Integer> endless = StreamUtils.unfoldAsync(1, i -> Optional.of(i + 1), 2, executor);
+            assertThat(endless.findFirst().get(), equalTo(1));
+
+            Stream<Integer> unfolded = StreamUtils.unfoldAsync(1, i -> (i < 3) ? Optional.of(i + 1) : Optional.empty(), 2, executor);
+            assertThat(unfolded.collect(Collectors.toList()), contains(1, 2, 3));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
 }
@@ -0,0 +1,80 @@
+package com.codepoetics.protonpack;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Spliterator;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+
+public class WindowedReduceTest {
+
+    @Test public void
+    reduces_each_window_with_an_associative_combiner() {
+        Stream<Integer> integers = Stream.of(5, 3, 8, 1, 9, 2, 7);
+
+        assertThat(StreamUtils.windowedReduce(integers, 3, 1, Math::min).collect(Collectors.toList()),
+                contains(3, 1, 1, 1, 2));
+    }
+
+    @Test public void
+    keeps_window_order_for_non_commutative_combiners() {
+        Stream<String> letters = Stream.of("a", "b", "c", "d", "e", "f");
+
+        assertThat(StreamUtils.windowedReduce(letters, 3, 2, String::concat).collect(Collectors.toList()),
+                contains("abc", "cde"));
+    }
+
+    @Test public void
+    reduces_each_window_with_an_invertible_accumulator() {
+        Stream<Integer> integers = Stream.of(1, 2, 3, 4, 5);
+
+        assertThat(StreamUtils.windowedReduce(integers, 2, 1, 0, Integer::sum, (sum, i) -> sum - i).collect(Collectors.toList()),
+                contains(3, 5, 7, 9));
+    }
+
+    @Test public void
+    matches_reducing_windows_directly() {
+        List<Integer> values = new Random(42).ints(500, -1000, 1000).boxed().collect(Collectors.toList());
+
+        for (int size = 1; size < 12; size++) {
+            for (int skip = 1; skip < 15; skip++) {
+                List<Integer> expectedMax = StreamUtils.windowed(values.stream(), size, skip)
+                        .map(window -> window.stream().reduce(Math::max).get())
+                        .collect(Collectors.toList());
+                List<Integer> expectedSums = StreamUtils.windowed(values.stream(), size, skip)
+                        .map(window -> window.stream().mapToInt(Integer::intValue).sum())
+                        .collect(Collectors.toList());
+
+                assertThat(StreamUtils.windowedReduce(values.stream(), size, skip, Math::max).collect(Collectors.toList()),
+                        equalTo(expectedMax));
+                assertThat(StreamUtils.windowedReduce(values.stream(), size, skip, 0, Integer::sum, (sum, i) -> sum - i)
+                        .collect(Collectors.toList()), equalTo(expectedSums));
+            }
+        }
+    }
+
+    @Test public void
+    finishes_in_bulk_after_advancing_one_window_at_a_time() {
+        Spliterator<String> windows = StreamUtils.windowedReduce(Stream.of("a", "b", "c", "d", "e", "f", "g"), 3, 2, String::concat)
+                .spliterator();
+        List<String> collected = new ArrayList<>();
+
+        windows.tryAdvance(collected::add);
+        windows.forEachRemaining(collected::add);
+
+        assertThat(collected, contains("abc", "cde", "efg"));
+    }
+
+    @Test public void
+    streams_nothing_when_there_is_no_complete_window() {
+        assertThat(StreamUtils.windowedReduce(IntStream.range(0, 3).boxed(), 4, 1, Integer::sum).count(), equalTo(0L));
+    }
+}
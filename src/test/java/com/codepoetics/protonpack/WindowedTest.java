@@ -6,6 +6,8 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
+import java.util.Spliterator;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
 import static java.util.Arrays.asList;
@@ -13,6 +15,7 @@ import static java.util.stream.Collectors.maxBy;
 import static java.util.stream.Collectors.toList;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.iterableWithSize;
 
 public class WindowedTest {
@@ -99,4 +102,178 @@ public class WindowedTest {
                 asList(4, 5),
             Collections.singletonList(5)));
     }
+
+    @Test
+    public void
+    windowing_a_random_access_list_gives_sublist_views() {
+        List<Integer> source = asList(1, 2, 3, 4, 5, 6);
+
+        List<List<Integer>> windows = StreamUtils.windowed(source, 3, 2).collect(toList());
+
+        assertThat(windows, contains(
+                asList(1, 2, 3),
+                asList(3, 4, 5)));
+
+        source.set(2, 30);
+        assertThat(windows.get(0), contains(1, 2, 30));
+        assertThat(windows.get(1), contains(30, 4, 5));
+    }
+
+    @Test
+    public void
+    windowing_a_random_access_list_matches_windowing_its_stream() {
+        List<Integer> source = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            source.add(i);
+        }
+
+        for (int size = 1; size < 5; size++) {
+            for (int skip = 1; skip < 5; skip++) {
+                assertThat(StreamUtils.windowed(source, size, skip).parallel().collect(toList()),
+                        equalTo(StreamUtils.windowed(source.stream(), size, skip).collect(toList())));
+            }
+        }
+    }
+
+    @Test
+    public void
+    windowing_a_random_access_list_shorter_than_the_window() {
+        assertThat(StreamUtils.windowed(asList(1, 2), 3, 1).collect(toList()), iterableWithSize(0));
+    }
+    @Test
+    public void
+    windowing_with_a_view_reuses_a_read_only_window() {
+        List<Integer> sums = StreamUtils.windowedView(Stream.of(1, 2, 3, 4, 5), 3)
+                .map(window -> window.stream().mapToInt(Integer::intValue).sum())
+                .collect(toList());
+
+        assertThat(sums, contains(6, 9, 12));
+    }
+
+    @Test
+    public void
+    windowing_with_a_view_matches_copied_windows() {
+        for (int size = 1; size < 5; size++) {
+            for (int skip = 1; skip < 6; skip++) {
+                List<Integer> source = new ArrayList<>();
+                for (int i = 0; i < 23; i++) {
+                    source.add(i);
+                }
+
+                List<List<Integer>> copied = StreamUtils.windowed(source.stream(), size, skip).collect(toList());
+                List<List<Integer>> viewed = StreamUtils.windowedView(source.stream(), size, skip)
+                        .map(ArrayList::new)
+                        .collect(toList());
+
+                assertThat(viewed, equalTo(copied));
+            }
+        }
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void
+    windowed_views_are_read_only() {
+        StreamUtils.windowedView(Stream.of(1, 2, 3), 2).forEach(window -> window.set(0, 10));
+    }
+
+    @Test
+    public void
+    windowing_with_a_skip_larger_than_the_window() {
+        assertThat(StreamUtils.windowed(Stream.of(1, 2, 3, 4, 5, 6, 7), 2, 3).collect(toList()), contains(
+                asList(1, 2),
+                asList(4, 5)));
+        assertThat(StreamUtils.windowed(Stream.of(1, 2, 3, 4, 5, 6, 7), 2, 3, true).collect(toList()), contains(
+                asList(1, 2),
+                asList(4, 5),
+                Collections.singletonList(7)));
+    }
+
+    @Test
+    public void
+    pairwise_combines_adjacent_items() {
+        assertThat(StreamUtils.pairwise(Stream.of(1, 3, 6, 10), (a, b) -> b - a).collect(toList()), contains(2, 3, 4));
+        assertThat(StreamUtils.pairwise(Stream.of(1), (a, b) -> b - a).count(), equalTo(0L));
+        assertThat(StreamUtils.pairwise(Stream.<Integer>empty(), (a, b) -> b - a).count(), equalTo(0L));
+    }
+
+    @Test
+    public void
+    pairwise_reports_its_size() {
+        Spliterator<Integer> pairs = StreamUtils.pairwise(Stream.of(1, 3, 6, 10), (Integer a, Integer b) -> b - a).spliterator();
+
+        assertThat(pairs.getExactSizeIfKnown(), equalTo(3L));
+        pairs.tryAdvance(pair -> {});
+        assertThat(pairs.getExactSizeIfKnown(), equalTo(2L));
+    }
+
+    @Test
+    public void
+    windowing_a_parallel_sized_stream_gives_the_same_windows_as_sequential() {
+        List<Integer> source = IntStream.range(0, 1000).boxed().collect(toList());
+
+        for (int windowSize : new int[] { 1, 2, 7, 64 }) {
+            for (int skip : new int[] { 1, 3, 64, 100 }) {
+                for (boolean allowLesserSize : new boolean[] { false, true }) {
+                    List<List<Integer>> sequential = StreamUtils.windowed(source.stream(), windowSize, skip, allowLesserSize)
+                            .collect(toList());
+
+                    assertThat(StreamUtils.windowed(source.parallelStream(), windowSize, skip, allowLesserSize)
+                            .collect(toList()), equalTo(sequential));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void
+    bulk_windowing_gives_the_same_windows_as_one_at_a_time() {
+        for (int windowSize : new int[] { 1, 2, 3, 7 }) {
+            for (int skip : new int[] { 1, 2, 3, 10 }) {
+                for (boolean allowLesserSize : new boolean[] { false, true }) {
+                    for (int advanced = 0; advanced < 3; advanced++) {
+                        Spliterator<List<Integer>> oneAtATime = StreamUtils.windowed(
+                                IntStream.range(0, 20).boxed(), windowSize, skip, allowLesserSize).spliterator();
+                        List<List<Integer>> expected = new ArrayList<>();
+                        while (oneAtATime.tryAdvance(expected::add));
+
+                        Spliterator<List<Integer>> bulk = StreamUtils.windowed(
+                                IntStream.range(0, 20).boxed(), windowSize, skip, allowLesserSize).spliterator();
+                        List<List<Integer>> windows = new ArrayList<>();
+                        for (int i = 0; i < advanced; i++) {
+                            bulk.tryAdvance(windows::add);
+                        }
+                        bulk.forEachRemaining(windows::add);
+
+                        assertThat(windows, equalTo(expected));
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void
+    windowing_a_sized_stream_splits_and_reports_exact_sizes() {
+        Spliterator<List<Integer>> windows = StreamUtils.windowed(
+                IntStream.range(0, 100).boxed().collect(toList()).stream(), 10, 3).spliterator();
+
+        assertThat(windows.getExactSizeIfKnown(), equalTo(31L));
+
+        Spliterator<List<Integer>> prefix = windows.trySplit();
+        assertThat(prefix.getExactSizeIfKnown() + windows.getExactSizeIfKnown(), equalTo(31L));
+
+        List<List<Integer>> collected = new ArrayList<>();
+        prefix.forEachRemaining(collected::add);
+        windows.forEachRemaining(collected::add);
+        assertThat(collected, equalTo(StreamUtils.windowed(IntStream.range(0, 100).boxed(), 10, 3).collect(toList())));
+    }
+
+    @Test
+    public void
+    pairwise_over_a_parallel_sized_stream_gives_the_same_pairs_as_sequential() {
+        List<Integer> source = IntStream.range(0, 1000).map(i -> i * i).boxed().collect(toList());
+
+        assertThat(StreamUtils.pairwise(source.parallelStream(), (a, b) -> b - a).collect(toList()),
+                equalTo(StreamUtils.pairwise(source.stream(), (a, b) -> b - a).collect(toList())));
+    }
 }
@@ -2,11 +2,23 @@ package com.codepoetics.protonpack;
 
 import org.junit.Test;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.LinkedList;
 import java.util.List;
+import java.util.Spliterator;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.stream.Collectors;
+import java.util.stream.DoubleStream;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
 import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.*;
@@ -67,6 +79,31 @@ public class ZipTest {
                 Indexed.index(2, "baz")));
     }
 
+    @Test public void
+    zips_a_parallel_stream_with_index_in_order() {
+        List<String> source = IntStream.range(0, 10000).mapToObj(Integer::toString).collect(Collectors.toList());
+
+        Stream<Indexed<String>> zipped = StreamUtils.zipWithIndex(source.parallelStream());
+
+        assertThat(zipped.isParallel(), is(true));
+        assertThat(zipped.collect(Collectors.toList()),
+                equalTo(IntStream.range(0, 10000).mapToObj(i -> Indexed.index(i, Integer.toString(i))).collect(Collectors.toList())));
+    }
+
+    @Test public void
+    splits_a_sized_stream_with_index_at_the_right_offset() {
+        List<String> source = Arrays.asList("a", "b", "c", "d", "e", "f");
+
+        Spliterator<Indexed<String>> suffix = StreamUtils.zipWithIndex(source.stream()).spliterator();
+        Spliterator<Indexed<String>> prefix = suffix.trySplit();
+
+        assertThat(prefix, notNullValue());
+        assertThat(StreamSupport.stream(suffix, false).collect(Collectors.toList()),
+                contains(Indexed.index(3, "d"), Indexed.index(4, "e"), Indexed.index(5, "f")));
+        assertThat(StreamSupport.stream(prefix, false).collect(Collectors.toList()),
+                contains(Indexed.index(0, "a"), Indexed.index(1, "b"), Indexed.index(2, "c")));
+    }
+
     @Test public void
     zips_a_trio_of_streams_of_same_length() {
         Stream<String> streamA = Stream.of("A", "B", "C");
@@ -108,6 +145,16 @@ public class ZipTest {
         assertThat(zipped, contains("A is for Apple", "B is for Banana", "C is for Carrot"));
     }
 
+    @Test public void
+    zipping_a_list_of_streams_hands_each_row_over_as_a_list_of_its_own() {
+        List<List<Integer>> rows = StreamUtils.zip(Arrays.asList(Stream.of(1, 2), Stream.of(10, 20)), row -> {
+            row.add(0);
+            return row;
+        }).collect(Collectors.toList());
+
+        assertThat(rows, contains(Arrays.asList(1, 10, 0), Arrays.asList(2, 20, 0)));
+    }
+
     @Test public void
     zips_an_empty_list_of_streams_without_calling_combiner() {
         List<String> zipped = StreamUtils.zip(Collections.emptyList(),
@@ -116,4 +163,348 @@ public class ZipTest {
 
         assertThat(zipped, is(empty()));
     }
+
+    @Test public void
+    zips_parallel_sized_streams_in_order() {
+        List<Integer> lefts = IntStream.range(0, 10000).boxed().collect(Collectors.toList());
+        List<Integer> rights = IntStream.range(0, 10000).map(i -> i * 2).boxed().collect(Collectors.toList());
+
+        Stream<Integer> zipped = StreamUtils.zip(lefts.parallelStream(), rights.parallelStream(), Integer::sum);
+
+        assertThat(zipped.isParallel(), is(true));
+        assertThat(zipped.collect(Collectors.toList()),
+                equalTo(IntStream.range(0, 10000).map(i -> i * 3).boxed().collect(Collectors.toList())));
+    }
+
+    @Test public void
+    splits_sized_streams_at_the_same_index() {
+        List<Integer> lefts = IntStream.range(0, 100).boxed().collect(Collectors.toList());
+        List<Integer> rights = IntStream.range(100, 200).boxed().collect(Collectors.toList());
+
+        Spliterator<String> suffix = StreamUtils.zip(lefts.stream(), rights.stream(), (l, r) -> l + ":" + r).spliterator();
+        Spliterator<String> prefix = suffix.trySplit();
+
+        assertThat(prefix, notNullValue());
+        assertThat(prefix.getExactSizeIfKnown() + suffix.getExactSizeIfKnown(), equalTo(100L));
+        prefix.tryAdvance(first -> assertThat(first, equalTo("0:100")));
+        suffix.tryAdvance(first -> assertThat(first, equalTo(prefix.getExactSizeIfKnown() + 1 + ":" + (prefix.getExactSizeIfKnown() + 101))));
+    }
+
+    @Test public void
+    does_not_split_streams_whose_split_points_differ() {
+        List<Integer> lefts = IntStream.range(0, 10).boxed().collect(Collectors.toList());
+        List<Integer> rights = IntStream.range(0, 13).boxed().collect(Collectors.toList());
+
+        Spliterator<Integer> zipped = StreamUtils.zip(lefts.stream(), rights.stream(), Integer::sum).spliterator();
+
+        assertThat(zipped.trySplit(), nullValue());
+        assertThat(StreamSupport.stream(zipped, false).collect(Collectors.toList()),
+                contains(0, 2, 4, 6, 8, 10, 12, 14, 16, 18));
+    }
+
+    @Test public void
+    zips_parallel_trio_and_list_of_sized_streams_in_order() {
+        List<Integer> ints = IntStream.range(0, 10000).boxed().collect(Collectors.toList());
+        List<Integer> expected = IntStream.range(0, 10000).map(i -> i * 3).boxed().collect(Collectors.toList());
+
+        assertThat(StreamUtils.zip(ints.parallelStream(), ints.parallelStream(), ints.parallelStream(), (a, b, c) -> a + b + c)
+                        .collect(Collectors.toList()),
+                equalTo(expected));
+        assertThat(StreamUtils.zip(Arrays.asList(ints.parallelStream(), ints.parallelStream(), ints.parallelStream()),
+                        l -> l.get(0) + l.get(1) + l.get(2))
+                        .collect(Collectors.toList()),
+                equalTo(expected));
+    }
+
+    @Test public void
+    zips_a_pair_of_int_streams() {
+        IntStream streamA = IntStream.of(1, 2, 3, 4);
+        IntStream streamB = IntStream.of(10, 20, 30);
+
+        assertThat(StreamUtils.zipInts(streamA, streamB, (a, b) -> a + b).boxed().collect(Collectors.toList()),
+                contains(11, 22, 33));
+    }
+
+    @Test public void
+    zips_a_pair_of_long_streams() {
+        LongStream streamA = LongStream.of(1, 2, 3);
+        LongStream streamB = LongStream.of(10, 20, 30, 40);
+
+        assertThat(StreamUtils.zipLongs(streamA, streamB, (a, b) -> a * b).boxed().collect(Collectors.toList()),
+                contains(10L, 40L, 90L));
+    }
+
+    @Test public void
+    zips_a_pair_of_double_streams() {
+        DoubleStream prices = DoubleStream.of(1.5, 2.5, 3.5);
+        DoubleStream quantities = DoubleStream.of(2, 4, 6);
+
+        assertThat(StreamUtils.zipDoubles(prices, quantities, (p, q) -> p * q).boxed().collect(Collectors.toList()),
+                contains(3.0, 10.0, 21.0));
+    }
+
+    @Test public void
+    zips_parallel_sized_double_streams_in_order() {
+        double[] lefts = IntStream.range(0, 10000).asDoubleStream().toArray();
+        double[] rights = IntStream.range(0, 10000).map(i -> i * 2).asDoubleStream().toArray();
+
+        DoubleStream zipped = StreamUtils.zipDoubles(
+                DoubleStream.of(lefts).parallel(),
+                DoubleStream.of(rights).parallel(),
+                Double::sum);
+
+        assertThat(zipped.isParallel(), is(true));
+        assertThat(zipped.toArray(), equalTo(IntStream.range(0, 10000).map(i -> i * 3).asDoubleStream().toArray()));
+    }
+
+    @Test public void
+    zips_a_list_of_streams_with_a_reused_row_view() {
+        List<Stream<Integer>> channels = Arrays.asList(Stream.of(1, 2, 3), Stream.of(10, 20, 30), Stream.of(100, 200));
+
+        List<Integer> sums = StreamUtils.zipWithRowView(channels, row -> row.stream().mapToInt(Integer::intValue).sum())
+                .collect(Collectors.toList());
+
+        assertThat(sums, contains(111, 222));
+    }
+
+    @Test(expected = UnsupportedOperationException.class) public void
+    row_view_is_read_only() {
+        StreamUtils.zipWithRowView(Arrays.asList(Stream.of(1), Stream.of(2)), row -> row.set(0, 3))
+                .collect(Collectors.toList());
+    }
+
+    @Test public void
+    reports_exact_size_of_a_zipped_list_of_sized_streams() {
+        Spliterator<Integer> zipped = StreamUtils.zip(
+                Arrays.asList(Stream.of(1, 2, 3), Stream.of(1, 2, 3, 4)),
+                l -> l.get(0) + l.get(1))
+                .spliterator();
+
+        assertThat(zipped.getExactSizeIfKnown(), equalTo(3L));
+        zipped.tryAdvance(i -> {});
+        assertThat(zipped.getExactSizeIfKnown(), equalTo(2L));
+    }
+
+    @Test public void
+    zips_a_parallel_list_of_sized_streams_with_a_reused_row_view_in_order() {
+        List<Integer> ints = IntStream.range(0, 10000).boxed().collect(Collectors.toList());
+
+        List<Integer> sums = StreamUtils.zipWithRowView(Arrays.asList(ints.parallelStream(), ints.parallelStream()),
+                row -> row.get(0) + row.get(1))
+                .collect(Collectors.toList());
+
+        assertThat(sums, equalTo(IntStream.range(0, 10000).map(i -> i * 2).boxed().collect(Collectors.toList())));
+    }
+
+    @Test public void
+    zips_random_access_lists_by_index() {
+        List<String> letters = Arrays.asList("A", "B", "C");
+        List<Integer> numbers = Arrays.asList(1, 2, 3, 4);
+
+        Spliterator<String> zipped = StreamUtils.zip(letters, numbers, (l, n) -> l + n).spliterator();
+
+        assertThat(zipped.getExactSizeIfKnown(), equalTo(3L));
+        assertThat(zipped.hasCharacteristics(Spliterator.SUBSIZED), equalTo(true));
+        assertThat(StreamSupport.stream(zipped, false).collect(Collectors.toList()), contains("A1", "B2", "C3"));
+    }
+
+    @Test public void
+    zips_large_random_access_lists_in_parallel_in_order() {
+        List<Integer> ints = IntStream.range(0, 10000).boxed().collect(Collectors.toList());
+
+        List<Integer> sums = StreamUtils.zip(ints, ints, Integer::sum).parallel().collect(Collectors.toList());
+
+        assertThat(sums, equalTo(IntStream.range(0, 10000).map(i -> i * 2).boxed().collect(Collectors.toList())));
+    }
+
+    @Test public void
+    zips_sequential_access_lists_through_their_streams() {
+        List<String> letters = new LinkedList<>(Arrays.asList("A", "B", "C"));
+        List<Integer> numbers = Arrays.asList(1, 2);
+
+        assertThat(StreamUtils.zip(letters, numbers, (l, n) -> l + n).collect(Collectors.toList()),
+                contains("A1", "B2"));
+    }
+
+    @Test public void
+    zips_asynchronously_prefetched_streams_in_order() {
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Stream<Integer> lefts = IntStream.range(0, 1000).boxed();
+            Stream<Integer> rights = IntStream.range(0, 500).boxed();
+
+            try (Stream<Integer> zipped = StreamUtils.zipAsync(lefts, rights, Integer::sum, 16, executor)) {
+                assertThat(zipped.collect(Collectors.toList()),
+                        equalTo(IntStream.range(0, 500).map(i -> i * 2).boxed().collect(Collectors.toList())));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test public void
+    drains_asynchronously_zipped_streams_off_the_consuming_thread() {
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Thread consumer = Thread.currentThread();
+            Stream<Thread> lefts = Stream.generate(Thread::currentThread).limit(10);
+            Stream<Thread> rights = Stream.generate(Thread::currentThread).limit(10);
+
+            try (Stream<Boolean> zipped = StreamUtils.zipAsync(lefts, rights, (l, r) -> l != consumer && r != consumer, 2, executor)) {
+                assertThat(zipped.allMatch(b -> b), equalTo(true));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test(expected = IllegalStateException.class) public void
+    rethrows_failures_from_asynchronously_zipped_streams() {
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Stream<Integer> lefts = Stream.of(1, 2, 3).map(i -> {
+                if (i == 3) throw new IllegalStateException("boom");
+                return i;
+            });
+
+            try (Stream<Integer> zipped = StreamUtils.zipAsync(lefts, Stream.of(1, 2, 3), Integer::sum, 1, executor)) {
+                zipped.forEach(i -> {});
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test public void
+    closing_an_asynchronously_zipped_stream_closes_its_sources() throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            AtomicBoolean leftClosed = new AtomicBoolean();
+            AtomicBoolean rightClosed = new AtomicBoolean();
+            Stream<Long> lefts = StreamUtils.indices().boxed().onClose(() -> leftClosed.set(true));
+            Stream<Long> rights = StreamUtils.indices().boxed().onClose(() -> rightClosed.set(true));
+
+            try (Stream<Long> zipped = StreamUtils.zipAsync(lefts, rights, Long::sum, 4, executor)) {
+                assertThat(zipped.limit(100).count(), equalTo(100L));
+            }
+
+            assertThat(leftClosed.get(), equalTo(true));
+            assertThat(rightClosed.get(), equalTo(true));
+            executor.shutdown();
+            assertThat(executor.awaitTermination(5, TimeUnit.SECONDS), equalTo(true));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test public void
+    an_unclosed_asynchronously_zipped_stream_stops_prefetching_when_either_side_runs_out() throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Stream<Long> lefts = StreamUtils.indices().boxed();
+            Stream<Long> rights = Stream.of(1L, 2L, 3L);
+
+            assertThat(StreamUtils.zipAsync(lefts, rights, Long::sum, 2, executor).collect(Collectors.toList()), contains(1L, 3L, 5L));
+
+            executor.shutdown();
+            assertThat(executor.awaitTermination(5, TimeUnit.SECONDS), equalTo(true));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test(timeout = 5000) public void
+    a_short_circuited_asynchronously_zipped_stream_leaves_no_thread_behind() {
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Stream<Long> lefts = StreamUtils.indices().boxed();
+            Stream<Long> rights = StreamUtils.indices().boxed();
+
+            assertThat(StreamUtils.zipAsync(lefts, rights, Long::sum, 4, executor).findFirst().get(), equalTo(0L));
+            assertThat(StreamUtils.zipAsync(Stream.of(1L), Stream.of(2L), Long::sum, 4, executor).collect(Collectors.toList()),
+                    contains(3L));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test public void
+    closing_an_asynchronously_zipped_stream_waits_for_reads_in_progress_before_closing_its_sources() throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            CountDownLatch reading = new CountDownLatch(1);
+            AtomicBoolean readFinished = new AtomicBoolean();
+            AtomicBoolean closedAfterRead = new AtomicBoolean();
+            Stream<Long> lefts = StreamUtils.indices().boxed().map(i -> {
+                if (i == 2) {
+                    reading.countDown();
+                    try {
+                        Thread.sleep(100);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    readFinished.set(true);
+                }
+                return i;
+            }).onClose(() -> closedAfterRead.set(readFinished.get()));
+
+            Stream<Long> zipped = StreamUtils.zipAsync(lefts, StreamUtils.indices().boxed(), Long::sum, 2, executor);
+            assertThat(zipped.findFirst().get(), equalTo(0L));
+            reading.await();
+            zipped.close();
+
+            assertThat(closedAfterRead.get(), equalTo(true));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test public void
+    bulk_traversal_of_sized_streams_stops_at_the_shorter_side() {
+        Spliterator<String> zipped = StreamUtils.zip(
+                Stream.of("A", "B", "C", "D"),
+                Stream.of(1, 2, 3),
+                (l, r) -> l + r)
+                .spliterator();
+
+        List<String> values = new ArrayList<>();
+        zipped.tryAdvance(values::add);
+        zipped.forEachRemaining(values::add);
+
+        assertThat(values, contains("A1", "B2", "C3"));
+    }
+
+    @Test public void
+    bulk_traversal_of_sized_primitive_streams_stops_at_the_shorter_side() {
+        Spliterator.OfInt zipped = StreamUtils.zipInts(IntStream.of(1, 2, 3, 4), IntStream.of(10, 20, 30), Integer::sum)
+                .spliterator();
+
+        List<Integer> values = new ArrayList<>();
+        zipped.tryAdvance((int value) -> values.add(value));
+        zipped.forEachRemaining((int value) -> values.add(value));
+
+        assertThat(values, contains(11, 22, 33));
+    }
+
+    @Test public void
+    bulk_traversal_of_a_list_of_sized_streams_stops_at_the_shortest() {
+        Spliterator<String> zipped = StreamUtils.zip(
+                Arrays.asList(Stream.of("A", "B", "C", "D"), Stream.of("1", "2", "3"), Stream.of("x", "y", "z", "w")),
+                row -> String.join("", row))
+                .spliterator();
+
+        List<String> values = new ArrayList<>();
+        zipped.tryAdvance(values::add);
+        zipped.forEachRemaining(values::add);
+
+        assertThat(values, contains("A1x", "B2y", "C3z"));
+    }
+
+    @Test public void
+    bulk_traversal_stops_when_an_unsized_side_runs_out() {
+        Stream<Integer> infinite = Stream.iterate(0, i -> i + 1);
+        Stream<Integer> finite = Stream.of(1, 2, 3).filter(i -> true);
+
+        assertThat(StreamUtils.zip(infinite, finite, Integer::sum).collect(Collectors.toList()), contains(1, 3, 5));
+    }
 }
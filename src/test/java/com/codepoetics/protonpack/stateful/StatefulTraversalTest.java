@@ -43,6 +43,16 @@ public class StatefulTraversalTest {
         contains("cat,dog,mouse", "dog,mouse,horse", "mouse,horse,sloth","horse,sloth,rabbit","sloth,rabbit,giraffe"));
   }
 
+  @Test
+  public void windowingOverViews() {
+    assertThat(
+        Statefully.windowView(
+            Stream.of("cat", "dog", "mouse", "horse", "sloth"),
+            3,
+            window -> String.join(",", window)).collect(Collectors.toList()),
+        contains("cat,dog,mouse", "dog,mouse,horse", "mouse,horse,sloth"));
+  }
+
   @Test
   public void tagging() {
     assertThat(Statefully.tagging(